@@ -0,0 +1,97 @@
+package com.example.events_planner.benchmark;
+
+import com.example.events_planner.dto.EventSummaryDTO;
+import com.example.events_planner.entity.Address;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Geo;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures, so every run (and every commit) benchmarks exactly the same object graph.
+ */
+final class BenchmarkData {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2030, 6, 1, 18, 0, 0, 0, ZoneOffset.UTC);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * An event with {@code members} members, one organizer per ten members and one task per five members,
+     * each task assigned to a member.
+     */
+    static Event event(int members) {
+        Event event = new Event();
+        event.setId(new UUID(1, 0));
+        event.setTitle("Summer party");
+        event.setDescription("Bring something to grill and something to share.");
+        event.setDate(BASE);
+        event.setCreatedAt(BASE.minusDays(30));
+        event.setUpdatedAt(BASE.minusDays(1));
+
+        Address address = new Address();
+        address.setId(new UUID(2, 0));
+        address.setStreet("Storgatan 1");
+        address.setCity("Malmö");
+        address.setZipCode("211 34");
+        address.setCountry("Sweden");
+        address.setLocationName("Folkets park");
+        address.setGeo(new Geo(55.59, 13.0));
+        event.setAddress(address);
+
+        List<User> users = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            User user = user(i);
+            users.add(user);
+            event.getMembers().add(user);
+            if (i % 10 == 0) {
+                event.getOrganizers().add(user);
+            }
+        }
+        for (int i = 0; i < Math.max(1, members / 5); i++) {
+            Task task = new Task();
+            task.setId(new UUID(3, i));
+            task.setDescription("Task number " + i);
+            task.setCompleted(i % 3 == 0);
+            task.setDueDate(BASE.minusHours(i));
+            task.setAssignedTo(users.isEmpty() ? null : users.get(i % users.size()));
+            task.setEvent(event);
+            task.setCreatedAt(BASE.minusDays(10));
+            task.setUpdatedAt(BASE.minusDays(2));
+            event.getTasks().add(task);
+        }
+        return event;
+    }
+
+    static List<EventSummaryDTO> summaries(int count) {
+        List<EventSummaryDTO> summaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            summaries.add(new EventSummaryDTO(
+                    new UUID(4, i),
+                    "Event " + i,
+                    "Description of event number " + i,
+                    BASE.plusHours(i),
+                    "Location " + (i % 20),
+                    i % 40,
+                    i % 12,
+                    i % 2 == 0));
+        }
+        return summaries;
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setId(new UUID(5, i));
+        user.setUsername("user_" + i);
+        user.setEmail("user_" + i + "@example.com");
+        user.setAvatar(i % 4 == 0 ? null : "https://example.com/avatars/" + i + ".png");
+        return user;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.events_planner.benchmark;
+
+import com.example.events_planner.dto.EventDetailDTO;
+import com.example.events_planner.dto.TaskSummaryDTO;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.mapper.EventMapper;
+import com.example.events_planner.mapper.TaskMapper;
+import com.example.events_planner.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for event details, the work done on every {@code GET /api/events/{id}}.
+ * Run with {@code -prof gc} (the profile default) to see the allocation rate next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EventMapperBenchmark {
+
+    @Param({"5", "200", "10000"})
+    private int members;
+
+    private EventMapper eventMapper;
+    private TaskMapper taskMapper;
+    private Event event;
+
+    @Setup
+    public void setup() {
+        UserMapper userMapper = new UserMapper();
+        taskMapper = new TaskMapper(userMapper);
+        eventMapper = new EventMapper(userMapper, taskMapper);
+        event = BenchmarkData.event(members);
+    }
+
+    @Benchmark
+    public EventDetailDTO toDetailDTO() {
+        return eventMapper.toDetailDTO(event);
+    }
+
+    @Benchmark
+    public void taskToSummaryDTO(Blackhole blackhole) {
+        for (Task task : event.getTasks()) {
+            TaskSummaryDTO summary = taskMapper.toSummaryDTO(task);
+            blackhole.consume(summary);
+        }
+    }
+}
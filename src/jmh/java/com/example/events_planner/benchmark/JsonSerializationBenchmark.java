@@ -0,0 +1,82 @@
+package com.example.events_planner.benchmark;
+
+import com.example.events_planner.dto.EventDetailDTO;
+import com.example.events_planner.dto.EventSummaryDTO;
+import com.example.events_planner.mapper.EventMapper;
+import com.example.events_planner.mapper.TaskMapper;
+import com.example.events_planner.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of the two response bodies that dominate traffic: event details and listing pages.
+ * Writers are resolved once up front, as Spring's message converter caches them per type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @State(Scope.Benchmark)
+    public static class Detail {
+
+        @Param({"5", "200", "10000"})
+        int members;
+
+        ObjectWriter writer;
+        EventDetailDTO dto;
+
+        @Setup
+        public void setup() {
+            UserMapper userMapper = new UserMapper();
+            dto = new EventMapper(userMapper, new TaskMapper(userMapper)).toDetailDTO(BenchmarkData.event(members));
+            writer = JSON_MAPPER.writerFor(EventDetailDTO.class);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        /** The listing's default and maximum page sizes. */
+        @Param({"50", "200"})
+        int size;
+
+        ObjectWriter writer;
+        List<EventSummaryDTO> summaries;
+
+        @Setup
+        public void setup() {
+            summaries = BenchmarkData.summaries(size);
+            writer = JSON_MAPPER.writerFor(JSON_MAPPER.getTypeFactory()
+                    .constructCollectionType(List.class, EventSummaryDTO.class));
+        }
+    }
+
+    @Benchmark
+    public byte[] eventDetail(Detail state) {
+        return state.writer.writeValueAsBytes(state.dto);
+    }
+
+    @Benchmark
+    public byte[] summaryPage(Page state) {
+        return state.writer.writeValueAsBytes(state.summaries);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.events_planner.loadtest;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fills the load-test schema with set-based inserts, so even large datasets take seconds rather than minutes.
+ * Every user shares one password hash; hashing once per user would dominate the seeding time.
+ */
+class DatasetSeeder {
+
+    private final JdbcClient jdbcClient;
+    private final PasswordEncoder passwordEncoder;
+
+    DatasetSeeder(JdbcClient jdbcClient, PasswordEncoder passwordEncoder) {
+        this.jdbcClient = jdbcClient;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * A seeded user together with what it can see and toggle, which is what its virtual client requests.
+     */
+    record Account(String username, List<UUID> eventIds, List<UUID> taskIds) {
+    }
+
+    List<Account> seed(LoadTestProperties properties) {
+        jdbcClient.sql("""
+                INSERT INTO users (username, email, password)
+                SELECT 'load_user_' || g, 'load_user_' || g || '@example.com', :password
+                FROM generate_series(1, :users) g""")
+                .param("password", passwordEncoder.encode(properties.password()))
+                .param("users", properties.users())
+                .update();
+        jdbcClient.sql("""
+                INSERT INTO authorities (user_id, authority)
+                SELECT id, 'ROLE_USER' FROM users WHERE username LIKE 'load\\_user\\_%'""").update();
+        jdbcClient.sql("""
+                INSERT INTO addresses (street, city, country, location_name, latitude, longitude)
+                SELECT 'Load street ' || g, 'City ' || (g % 200), 'Sweden', 'Hall ' || g,
+                       55 + (g % 100) / 100.0, 13 + (g % 100) / 100.0
+                FROM generate_series(1, :events) g""")
+                .param("events", properties.events())
+                .update();
+        jdbcClient.sql("""
+                INSERT INTO events (title, description, date, address_id)
+                SELECT 'Load event ' || a.n, 'Seeded event number ' || a.n,
+                       now() + (a.n % 365) * interval '1 day', a.id
+                FROM (SELECT id, row_number() OVER (ORDER BY id) AS n
+                      FROM addresses WHERE street LIKE 'Load street %') a""").update();
+        // Members are spread round-robin over the users, so every user ends up in roughly the same number of events.
+        jdbcClient.sql("""
+                WITH e AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM events WHERE title LIKE 'Load event %'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users WHERE username LIKE 'load\\_user\\_%')
+                INSERT INTO event_members (event_id, user_id)
+                SELECT e.id, u.id
+                FROM e CROSS JOIN generate_series(0, :members - 1) k
+                JOIN u ON u.n = (e.n * :members + k) % :users
+                ON CONFLICT DO NOTHING""")
+                .param("members", properties.membersPerEvent())
+                .param("users", properties.users())
+                .update();
+        jdbcClient.sql("""
+                WITH e AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM events WHERE title LIKE 'Load event %'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users WHERE username LIKE 'load\\_user\\_%')
+                INSERT INTO event_organizers (event_id, user_id)
+                SELECT e.id, u.id FROM e JOIN u ON u.n = e.n % :users""")
+                .param("users", properties.users())
+                .update();
+        jdbcClient.sql("""
+                INSERT INTO tasks (description, completed, due_date, event_id, assigned_to_id)
+                SELECT 'Load task ' || t, t % 3 = 0, e.date - t * interval '1 hour', e.id,
+                       (SELECT m.user_id FROM event_members m WHERE m.event_id = e.id
+                        ORDER BY m.user_id OFFSET t % :members LIMIT 1)
+                FROM events e CROSS JOIN generate_series(1, :tasks) t
+                WHERE e.title LIKE 'Load event %'""")
+                .param("members", Math.max(1, properties.membersPerEvent()))
+                .param("tasks", properties.tasksPerEvent())
+                .update();
+        jdbcClient.sql("ANALYZE users, authorities, addresses, events, event_members, event_organizers, tasks").update();
+
+        return accounts();
+    }
+
+    private List<Account> accounts() {
+        Map<UUID, String> usernames = new HashMap<>();
+        jdbcClient.sql("SELECT id, username FROM users WHERE username LIKE 'load\\_user\\_%' ORDER BY username")
+                .query(rs -> {
+                    usernames.put(rs.getObject("id", UUID.class), rs.getString("username"));
+                });
+        Map<UUID, List<UUID>> events = new HashMap<>();
+        jdbcClient.sql("SELECT user_id, event_id FROM event_members UNION SELECT user_id, event_id FROM event_organizers")
+                .query(rs -> {
+                    events.computeIfAbsent(rs.getObject("user_id", UUID.class), id -> new ArrayList<>())
+                            .add(rs.getObject("event_id", UUID.class));
+                });
+        Map<UUID, List<UUID>> tasks = new HashMap<>();
+        jdbcClient.sql("SELECT assigned_to_id, id FROM tasks WHERE assigned_to_id IS NOT NULL")
+                .query(rs -> {
+                    tasks.computeIfAbsent(rs.getObject("assigned_to_id", UUID.class), id -> new ArrayList<>())
+                            .add(rs.getObject("id", UUID.class));
+                });
+
+        List<Account> accounts = new ArrayList<>(usernames.size());
+        usernames.forEach((id, username) -> accounts.add(new Account(username,
+                List.copyOf(events.getOrDefault(id, List.of())),
+                List.copyOf(tasks.getOrDefault(id, List.of())))));
+        accounts.sort((a, b) -> a.username().compareTo(b.username()));
+        return accounts;
+    }
+}
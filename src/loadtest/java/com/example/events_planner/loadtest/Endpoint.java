@@ -0,0 +1,11 @@
+package com.example.events_planner.loadtest;
+
+/**
+ * The requests a virtual client issues. Latency is recorded per endpoint.
+ */
+public enum Endpoint {
+    LOGIN,
+    LIST,
+    DETAIL,
+    TOGGLE
+}
@@ -0,0 +1,80 @@
+package com.example.events_planner.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, safe to record into from any number of clients.
+ */
+class LatencyStats {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    LatencyStats() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(MAX_TRACKED_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long nanos, boolean success) {
+        recorders.get(endpoint).recordValue(Math.min(nanos, MAX_TRACKED_NANOS));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, used to discard the warmup.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Summarises everything recorded since the last reset, in milliseconds.
+     */
+    Map<Endpoint, EndpointResult> results(double seconds) {
+        Map<Endpoint, EndpointResult> results = new LinkedHashMap<>();
+        recorders.forEach((endpoint, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            results.put(endpoint, new EndpointResult(
+                    histogram.getTotalCount(),
+                    errors.get(endpoint).sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue())));
+        });
+        return results;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record EndpointResult(
+        long requests,
+        long errors,
+        double throughput,
+        double p50,
+        double p95,
+        double p99,
+        double max
+    ) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.events_planner.loadtest;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Extra beans for a load-test run. Registered explicitly by {@link LoadTestRunner} and deliberately not
+ * annotated with {@code @Configuration}, so the application's component scan never picks it up in tests.
+ */
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfiguration {
+
+    /**
+     * Every run starts from an empty schema so results only depend on the configured dataset.
+     * Flyway cleans just the schemas it manages, which the {@code loadtest} profile limits to {@code load_test}.
+     */
+    @Bean
+    FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
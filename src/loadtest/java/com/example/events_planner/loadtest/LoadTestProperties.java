@@ -0,0 +1,41 @@
+package com.example.events_planner.loadtest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Dataset size and traffic shape for a load-test run. Override any of them on the command line,
+ * e.g. {@code --loadtest.clients=500}.
+ *
+ * @param mix relative weight of each endpoint in the traffic, e.g. {@code --loadtest.mix.login=0}. Endpoints left
+ *            out of an explicit mix are not requested.
+ */
+@ConfigurationProperties("loadtest")
+public record LoadTestProperties(
+    @DefaultValue("1000") int users,
+    @DefaultValue("2000") int events,
+    @DefaultValue("20") int membersPerEvent,
+    @DefaultValue("5") int tasksPerEvent,
+    @DefaultValue("200") int clients,
+    @DefaultValue("10s") Duration warmup,
+    @DefaultValue("60s") Duration duration,
+    Map<Endpoint, Integer> mix,
+    @DefaultValue("password") String password,
+    @DefaultValue("target/load-test/result.json") Path output
+) {
+    private static final Map<Endpoint, Integer> DEFAULT_MIX = Map.of(
+            Endpoint.LOGIN, 2,
+            Endpoint.LIST, 40,
+            Endpoint.DETAIL, 45,
+            Endpoint.TOGGLE, 13);
+
+    public LoadTestProperties {
+        mix = Collections.unmodifiableMap(new EnumMap<>(mix == null || mix.isEmpty() ? DEFAULT_MIX : mix));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.events_planner.loadtest;
+
+import com.example.events_planner.EventsPlannerApplication;
+import com.example.events_planner.loadtest.DatasetSeeder.Account;
+import com.example.events_planner.loadtest.LatencyStats.EndpointResult;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application on a random port against the {@code load_test} schema of the configured Postgres,
+ * seeds it, drives it with virtual-thread clients and writes per-endpoint throughput and latency percentiles
+ * as JSON, so two runs can be diffed.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // DevTools is on the test classpath; its restart class loader would only add noise to the measurements.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                EventsPlannerApplication.class, LoadTestConfiguration.class)
+                .profiles("loadtest")
+                .run(args)) {
+            LoadTestProperties properties = context.getBean(LoadTestProperties.class);
+            if (VirtualClient.schedule(properties.mix()).length == 0) {
+                throw new IllegalArgumentException("loadtest.mix must give at least one endpoint a positive weight");
+            }
+            List<Account> accounts = new DatasetSeeder(context.getBean(JdbcClient.class), context.getBean(PasswordEncoder.class))
+                    .seed(properties);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            Map<Endpoint, EndpointResult> results = drive(URI.create("http://localhost:" + port), accounts, properties);
+            report(properties, results);
+        }
+    }
+
+    private static Map<Endpoint, EndpointResult> drive(URI baseUri, List<Account> accounts, LoadTestProperties properties)
+            throws InterruptedException {
+        Endpoint[] schedule = VirtualClient.schedule(properties.mix());
+        LatencyStats stats = new LatencyStats();
+        VirtualClient.Run run = new VirtualClient.Run();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            for (int i = 0; i < properties.clients(); i++) {
+                Account account = accounts.get(i % accounts.size());
+                executor.submit(new VirtualClient(httpClient, baseUri, account, properties.password(), schedule, stats, run));
+            }
+            Thread.sleep(properties.warmup());
+            stats.reset();
+            long start = System.nanoTime();
+            Thread.sleep(properties.duration());
+            Map<Endpoint, EndpointResult> results = stats.results((System.nanoTime() - start) / 1e9);
+            run.stop();
+            return results;
+        }
+    }
+
+    private static void report(LoadTestProperties properties, Map<Endpoint, EndpointResult> results) throws IOException {
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("users", properties.users());
+        dataset.put("events", properties.events());
+        dataset.put("membersPerEvent", properties.membersPerEvent());
+        dataset.put("tasksPerEvent", properties.tasksPerEvent());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("dataset", dataset);
+        report.put("clients", properties.clients());
+        report.put("warmup", properties.warmup().toString());
+        report.put("duration", properties.duration().toString());
+        report.put("mix", properties.mix());
+        report.put("latencyUnit", "ms");
+        report.put("endpoints", results);
+
+        JsonMapper jsonMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        if (properties.output().getParent() != null) {
+            Files.createDirectories(properties.output().getParent());
+        }
+        jsonMapper.writeValue(properties.output().toFile(), report);
+
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        results.forEach((endpoint, result) -> System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, result.requests(), result.errors(), result.throughput(),
+                result.p50(), result.p95(), result.p99(), result.max()));
+        System.out.println("Results written to " + properties.output().toAbsolutePath());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.events_planner.loadtest;
+
+import com.example.events_planner.loadtest.DatasetSeeder.Account;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * One simulated user: logs in, then issues requests drawn from the configured mix until told to stop.
+ * Clients share one {@link HttpClient} and carry their own session cookie, so thousands of them stay cheap.
+ */
+class VirtualClient implements Runnable {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Account account;
+    private final String loginBody;
+    private final Endpoint[] schedule;
+    private final LatencyStats stats;
+    private final Run run;
+    private String sessionCookie;
+
+    /**
+     * Shared stop signal for all clients of a run.
+     */
+    static final class Run {
+        private volatile boolean running = true;
+
+        void stop() {
+            running = false;
+        }
+    }
+
+    VirtualClient(HttpClient httpClient, URI baseUri, Account account, String password,
+                  Endpoint[] schedule, LatencyStats stats, Run run) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.account = account;
+        this.loginBody = JSON_MAPPER.writeValueAsString(Map.of("username", account.username(), "password", password));
+        this.schedule = schedule;
+        this.stats = stats;
+        this.run = run;
+    }
+
+    /**
+     * Expands the weighted mix into a lookup table, so picking the next request is a single random index.
+     */
+    static Endpoint[] schedule(Map<Endpoint, Integer> mix) {
+        return mix.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(Math.max(0, entry.getValue())))
+                .toArray(Endpoint[]::new);
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        execute(Endpoint.LOGIN);
+        while (run.running) {
+            execute(schedule[random.nextInt(schedule.length)]);
+        }
+    }
+
+    private void execute(Endpoint endpoint) {
+        HttpRequest request = request(endpoint);
+        if (request == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+            if (endpoint == Endpoint.LOGIN && success) {
+                sessionCookie = response.headers().allValues("Set-Cookie").stream()
+                        .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                        .map(cookie -> cookie.substring(0, cookie.indexOf(';') > 0 ? cookie.indexOf(';') : cookie.length()))
+                        .findFirst()
+                        .orElse(sessionCookie);
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.stop();
+            return;
+        }
+        stats.record(endpoint, System.nanoTime() - start, success);
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case LOGIN -> HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                    .build();
+            case LIST -> authenticated("/api/events").GET().build();
+            case DETAIL -> pick(account.eventIds()) instanceof UUID id
+                    ? authenticated("/api/events/" + id).GET().build()
+                    : null;
+            case TOGGLE -> pick(account.taskIds()) instanceof UUID id
+                    ? authenticated("/api/tasks/" + id + "/toggle").method("PATCH", HttpRequest.BodyPublishers.noBody()).build()
+                    : null;
+        };
+    }
+
+    private HttpRequest.Builder authenticated(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path));
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        return builder;
+    }
+
+    private static UUID pick(List<UUID> ids) {
+        return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
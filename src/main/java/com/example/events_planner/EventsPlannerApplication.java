@@ -2,8 +2,10 @@ package com.example.events_planner;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EventsPlannerApplication {
 
 	static void main(String[] args) {
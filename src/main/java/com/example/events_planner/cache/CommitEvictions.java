@@ -0,0 +1,29 @@
+package com.example.events_planner.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs cache evictions for rows written in the current transaction.
+ */
+public final class CommitEvictions {
+
+    private CommitEvictions() {
+    }
+
+    /**
+     * Runs the eviction now and again after the surrounding transaction commits, so a concurrent load
+     * cannot re-cache the pre-commit rows in between. Outside a transaction it only runs now.
+     */
+    public static void evictNowAndAfterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+        eviction.run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.events_planner.cache;
+
+import com.example.events_planner.cluster.ClusterChanges;
+import com.example.events_planner.cluster.EntityChange;
+import com.example.events_planner.entity.Address;
+import com.example.events_planner.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.context.event.EventListener;
+
+import java.util.UUID;
+
+/**
+ * Evicts second-level cache entries for writes committed on other nodes. Local writes mostly need nothing here:
+ * Hibernate updates the regions itself, and native statements declare the tables they touch. Login bookkeeping
+ * is the exception; it evicts just the user it wrote through {@link #evictUser(UUID)}.
+ */
+public class EntityCacheEviction {
+
+    private static final String AUTHORITIES_ROLE = User.class.getName() + ".authorities";
+
+    private final Cache cache;
+
+    public EntityCacheEviction(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @EventListener
+    public void onClusterChanges(ClusterChanges changes) {
+        if (changes.resync()) {
+            cache.evictAllRegions();
+            return;
+        }
+        boolean eventEdited = false;
+        for (EntityChange change : changes.changes()) {
+            if (change.kind() == EntityChange.Kind.USER) {
+                cache.evictEntityData(User.class, change.id());
+                cache.evictCollectionData(AUTHORITIES_ROLE, change.id());
+            } else if (change.kind() == EntityChange.Kind.EVENT && change.type() == null) {
+                eventEdited = true;
+            }
+        }
+        // Changes carry the event id, not its address id; event edits are rare enough to drop the region.
+        if (eventEdited) {
+            cache.evictEntityData(Address.class);
+        }
+    }
+
+    /**
+     * Evicts a user written by a statement that bypasses the region.
+     */
+    public void evictUser(UUID userId) {
+        CommitEvictions.evictNowAndAfterCommit(() -> cache.evictEntityData(User.class, userId));
+    }
+}
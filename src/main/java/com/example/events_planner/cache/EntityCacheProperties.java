@@ -0,0 +1,17 @@
+package com.example.events_planner.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to each second-level cache region. {@code timeToLive} bounds how long an entry can outlive a
+ * write that did not go through Hibernate on this node.
+ */
+@ConfigurationProperties("app.entity-cache")
+public record EntityCacheProperties(
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("10m") Duration timeToLive
+) {
+}
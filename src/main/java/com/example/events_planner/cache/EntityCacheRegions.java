@@ -0,0 +1,19 @@
+package com.example.events_planner.cache;
+
+import java.util.List;
+
+/**
+ * Second-level cache regions. Hibernate is set to fail on any region not created up front, so an entity or
+ * collection can only be cached once its region is listed here.
+ */
+public final class EntityCacheRegions {
+
+    public static final String USERS = "users";
+    public static final String USER_AUTHORITIES = "users.authorities";
+    public static final String ADDRESSES = "addresses";
+
+    public static final List<String> ALL = List.of(USERS, USER_AUTHORITIES, ADDRESSES);
+
+    private EntityCacheRegions() {
+    }
+}
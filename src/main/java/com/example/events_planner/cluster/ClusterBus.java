@@ -0,0 +1,267 @@
+package com.example.events_planner.cluster;
+
+import com.example.events_planner.service.EventChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Ships committed changes to the other nodes over Postgres {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * Outbound, changes are queued after commit and a sender thread drains whatever has piled up, drops duplicates
+ * and notifies in as few statements as the payload limit allows, reading each row's committed version in the
+ * same statement. Inbound, one dedicated connection per node listens on the channel; the first notification of
+ * a burst opens a batch window, after which the coalesced changes from other nodes are published locally as
+ * {@link ClusterChanges}. Delivery is best effort: if the listener connection drops, subscribers are told to
+ * resync once it is back.
+ */
+public class ClusterBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterBus.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    // NOTIFY payloads are capped at 8000 bytes; a serialised change is well under 150.
+    private static final int CHANGES_PER_NOTIFY = 40;
+    private static final int IDLE_POLL_MILLIS = 1_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long VALIDATION_INTERVAL_NANOS = 30_000_000_000L;
+
+    private static final String NOTIFY_SQL = """
+            SELECT pg_notify(:channel, json_build_object(
+                    'origin', CAST(:origin AS text),
+                    'changes', json_agg(json_build_object(
+                            'kind', c.kind, 'id', c.id, 'version', coalesce(e.version, t.version, 0),
+                            'type', c.type, 'subjectId', c."subjectId")))::text)
+            FROM json_to_recordset(CAST(:changes AS json)) AS c(kind text, id uuid, type text, "subjectId" uuid)
+            LEFT JOIN events e ON c.kind = 'EVENT' AND e.id = c.id
+            LEFT JOIN tasks t ON c.kind = 'TASK' AND t.id = c.id""";
+
+    private final ClusterBusProperties properties;
+    private final JdbcConnectionDetails connectionDetails;
+    private final JdbcClient jdbcClient;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UUID nodeId = UUID.randomUUID();
+    private final BlockingQueue<EntityChange> outbox;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private Thread sender;
+    private Thread listener;
+
+    public ClusterBus(ClusterBusProperties properties, JdbcConnectionDetails connectionDetails, JdbcClient jdbcClient,
+                      ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher, MeterRegistry registry) {
+        if (!CHANNEL_NAME.matcher(properties.channel()).matches()) {
+            throw new IllegalArgumentException("Invalid cluster bus channel name: " + properties.channel());
+        }
+        this.properties = properties;
+        this.connectionDetails = connectionDetails;
+        this.jdbcClient = jdbcClient;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.outbox = new ArrayBlockingQueue<>(properties.outboxCapacity());
+        this.sent = Counter.builder("cluster.bus.changes")
+                .description("Entity changes exchanged with other nodes")
+                .tag("direction", "sent")
+                .register(registry);
+        this.received = Counter.builder("cluster.bus.changes")
+                .description("Entity changes exchanged with other nodes")
+                .tag("direction", "received")
+                .register(registry);
+        this.dropped = Counter.builder("cluster.bus.dropped")
+                .description("Entity changes not sent because the outbox was full or the database unreachable")
+                .register(registry);
+    }
+
+    public UUID nodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        enqueue(EntityChange.event(change));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChange change) {
+        enqueue(change);
+    }
+
+    private void enqueue(EntityChange change) {
+        if (!outbox.offer(change)) {
+            dropped.increment();
+            log.warn("Cluster bus outbox full, dropping {} {}", change.kind(), change.id());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        sender = Thread.ofVirtual().name("cluster-bus-sender").start(this::send);
+        listener = Thread.ofVirtual().name("cluster-bus-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        sender.interrupt();
+        listener.interrupt();
+        closeQuietly(listenerConnection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void send() {
+        List<EntityChange> drained = new ArrayList<>();
+        while (running) {
+            try {
+                drained.add(outbox.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            outbox.drainTo(drained);
+            List<EntityChange> batch = List.copyOf(new LinkedHashSet<>(drained));
+            drained.clear();
+            for (int from = 0; from < batch.size(); from += CHANGES_PER_NOTIFY) {
+                List<EntityChange> chunk = batch.subList(from, Math.min(from + CHANGES_PER_NOTIFY, batch.size()));
+                try {
+                    jdbcClient.sql(NOTIFY_SQL)
+                            .param("channel", properties.channel())
+                            .param("origin", nodeId.toString())
+                            .param("changes", objectMapper.writeValueAsString(chunk))
+                            .query().listOfRows();
+                    sent.increment(chunk.size());
+                } catch (RuntimeException e) {
+                    dropped.increment(chunk.size());
+                    log.warn("Could not notify other nodes of {} changes", chunk.size(), e);
+                }
+            }
+        }
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                if (reconnected) {
+                    eventPublisher.publishEvent(ClusterChanges.resyncRequired());
+                }
+                reconnected = true;
+                receive(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cluster bus listener connection lost, retrying in {}", properties.reconnectDelay(), e);
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } finally {
+                listenerConnection = null;
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        Map<EntityChange, EntityChange> pending = new LinkedHashMap<>();
+        long windowNanos = properties.batchWindow().toNanos();
+        long dispatchAt = 0;
+        long validatedAt = System.nanoTime();
+        while (running) {
+            int timeoutMillis = pending.isEmpty()
+                    ? IDLE_POLL_MILLIS
+                    : (int) Math.max(1, (dispatchAt - System.nanoTime()) / 1_000_000);
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    if (pending.isEmpty()) {
+                        dispatchAt = System.nanoTime() + windowNanos;
+                    }
+                    accept(notification.getParameter(), pending);
+                }
+            }
+            long now = System.nanoTime();
+            if (!pending.isEmpty() && now - dispatchAt >= 0) {
+                List<EntityChange> batch = List.copyOf(pending.values());
+                pending.clear();
+                received.increment(batch.size());
+                eventPublisher.publishEvent(new ClusterChanges(batch, false));
+            }
+            // Waiting for notifications sends nothing, so a silently dead socket would go unnoticed.
+            if (pending.isEmpty() && now - validatedAt >= VALIDATION_INTERVAL_NANOS) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Cluster bus listener connection is no longer valid");
+                }
+                validatedAt = now;
+            }
+        }
+    }
+
+    private void accept(String payload, Map<EntityChange, EntityChange> pending) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed cluster bus notification", e);
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        for (EntityChange change : message.changes()) {
+            pending.merge(change.key(), change,
+                    (current, next) -> next.version() >= current.version() ? next : current);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close cluster bus listener connection", e);
+        }
+    }
+
+    private record Message(UUID origin, List<EntityChange> changes) {}
+}
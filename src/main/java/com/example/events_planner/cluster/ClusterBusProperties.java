@@ -0,0 +1,20 @@
+package com.example.events_planner.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the cross-node change bus. {@code batchWindow} is how long a node keeps collecting after the
+ * first notification of a burst before dispatching the coalesced batch.
+ */
+@ConfigurationProperties("app.cluster.bus")
+public record ClusterBusProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("entity_changes") String channel,
+    @DefaultValue("20ms") Duration batchWindow,
+    @DefaultValue("5s") Duration reconnectDelay,
+    @DefaultValue("10000") int outboxCapacity
+) {
+}
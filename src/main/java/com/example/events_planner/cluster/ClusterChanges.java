@@ -0,0 +1,17 @@
+package com.example.events_planner.cluster;
+
+import java.util.List;
+
+/**
+ * Coalesced batch of changes committed on other nodes, published locally by {@link ClusterBus}.
+ * {@code resync} is set after the listener connection was re-established: notifications may have been
+ * missed, so subscribers should drop everything they hold rather than rely on {@code changes}.
+ */
+public record ClusterChanges(
+    List<EntityChange> changes,
+    boolean resync
+) {
+    public static ClusterChanges resyncRequired() {
+        return new ClusterChanges(List.of(), true);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.events_planner.cluster;
+
+import com.example.events_planner.service.EventChange;
+
+import java.util.UUID;
+
+/**
+ * One changed entity as shipped to the other nodes by {@link ClusterBus}. Senders leave {@code version} at
+ * {@code 0}; it is filled in from the committed row when the notification goes out, and stays {@code 0} for
+ * deleted rows and for users, which are not versioned. Event changes that came from an {@link EventChange}
+ * keep its {@code type} and {@code subjectId} so remote streams can replay them.
+ */
+public record EntityChange(
+    Kind kind,
+    UUID id,
+    long version,
+    EventChange.Type type,
+    UUID subjectId
+) {
+    public enum Kind {
+        EVENT,
+        TASK,
+        USER
+    }
+
+    public static EntityChange event(UUID eventId) {
+        return new EntityChange(Kind.EVENT, eventId, 0, null, null);
+    }
+
+    public static EntityChange event(EventChange change) {
+        return new EntityChange(Kind.EVENT, change.eventId(), 0, change.type(), change.subjectId());
+    }
+
+    public static EntityChange task(UUID taskId) {
+        return new EntityChange(Kind.TASK, taskId, 0, null, null);
+    }
+
+    public static EntityChange user(UUID userId) {
+        return new EntityChange(Kind.USER, userId, 0, null, null);
+    }
+
+    /**
+     * Identity used to coalesce bursts: changes differing only in version collapse into the latest.
+     */
+    public EntityChange key() {
+        return version == 0 ? this : new EntityChange(kind, id, 0, type, subjectId);
+    }
+
+    public EventChange toEventChange() {
+        return kind == Kind.EVENT && type != null ? new EventChange(id, type, subjectId) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.events_planner.config;
+
+import com.example.events_planner.cluster.ClusterBus;
+import com.example.events_planner.cluster.ClusterBusProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration
+@EnableConfigurationProperties(ClusterBusProperties.class)
+public class ClusterConfiguration {
+
+    @Bean
+    @ConditionalOnBooleanProperty(name = "app.cluster.bus.enabled", matchIfMissing = true)
+    public ClusterBus clusterBus(ClusterBusProperties properties, JdbcConnectionDetails connectionDetails,
+                                 JdbcClient jdbcClient, ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        return new ClusterBus(properties, connectionDetails, jdbcClient, objectMapper, eventPublisher, meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.events_planner.config;
+
+import com.example.events_planner.cache.EntityCacheEviction;
+import com.example.events_planner.cache.EntityCacheProperties;
+import com.example.events_planner.cache.EntityCacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfiguration {
+
+    /**
+     * One bounded Caffeine cache per region, with statistics on so hits and misses show up as {@code cache.gets}.
+     * Each context gets its own manager URI; several contexts can share a JVM, as they do in the tests.
+     */
+    @Bean
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : EntityCacheRegions.ALL) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setMaximumSize(OptionalLong.of(properties.maximumSize()))
+                    .setExpireAfterWrite(OptionalLong.of(properties.timeToLive().toNanos()))
+                    .setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            new JCacheMetrics<>(cache, Tags.of("cache.manager", "hibernate")).bindTo(meterRegistry);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheSettings(CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public EntityCacheEviction entityCacheEviction(EntityManagerFactory entityManagerFactory) {
+        return new EntityCacheEviction(entityManagerFactory);
+    }
+}
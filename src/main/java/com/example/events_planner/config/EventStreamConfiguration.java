@@ -0,0 +1,18 @@
+package com.example.events_planner.config;
+
+import com.example.events_planner.service.EventStreamHub;
+import com.example.events_planner.service.EventStreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EventStreamProperties.class)
+public class EventStreamConfiguration {
+
+    @Bean
+    public EventStreamHub eventStreamHub(EventStreamProperties properties, MeterRegistry meterRegistry) {
+        return new EventStreamHub(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.events_planner.config;
+
+import com.example.events_planner.mapper.UserMapper;
+import com.example.events_planner.metrics.ConnectionTimingDataSource;
+import com.example.events_planner.metrics.JdbcTimingListener;
+import com.example.events_planner.metrics.MappingTimingInterceptor;
+import com.example.events_planner.metrics.ServerTimingFilter;
+import com.example.events_planner.metrics.SqlStatementCounter;
+import com.example.events_planner.metrics.SqlStatementMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.jspecify.annotations.NonNull;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfiguration {
+
+    private static final String MAPPER_PACKAGE = UserMapper.class.getPackageName();
+
+    /**
+     * Wraps every DataSource so each execution bumps the per-thread statement count and connection waits and
+     * executions are timed for the current request.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(new ConnectionTimingDataSource(dataSource))
+                            .name(beanName)
+                            .listener(new SqlStatementCounter())
+                            .listener(new JdbcTimingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Proxies the mappers so the time they take, lazy loading aside, shows up as the mapping phase.
+     */
+    @Bean
+    public static BeanPostProcessor mappingTimingProxies() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!bean.getClass().getPackageName().equals(MAPPER_PACKAGE)) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(new MappingTimingInterceptor());
+                return proxyFactory.getProxy(bean.getClass().getClassLoader());
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(meterRegistry));
+        registration.setOrder(SecurityFilterProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatementMetricsConfigurer(MeterRegistry meterRegistry) {
+        SqlStatementMetricsInterceptor interceptor = new SqlStatementMetricsInterceptor(meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.events_planner.config;
+
+import com.example.events_planner.datasource.ReadReplicaDataSource;
+import com.example.events_planner.datasource.ReadReplicaProperties;
+import com.example.events_planner.datasource.ReadYourWrites;
+import com.example.events_planner.metrics.ConnectionTimingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Only active once a replica is configured; a single-database deployment keeps the plain pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas[0]", name = "url")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfiguration {
+
+    /**
+     * Puts the auto-configured pool behind a {@link LazyConnectionDataSourceProxy} whose read-only connections
+     * come from the replicas. The proxy defers choosing until the first statement, by which point the
+     * transaction has marked the connection read-only or not. Runs before the instrumenting post-processors so
+     * statement counts and timings still see a single DataSource; the return type has to say {@link Ordered}
+     * for that ordering to be seen before the bean exists.
+     */
+    @Bean
+    static ReadReplicaRouting readReplicaRouting(ObjectProvider<ReadReplicaProperties> properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReadReplicaRouting(properties, meterRegistry);
+    }
+
+    static final class ReadReplicaRouting implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final ObjectProvider<ReadReplicaProperties> properties;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+        private ReadReplicaRouting(ObjectProvider<ReadReplicaProperties> properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+            this.properties = properties;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            ReadReplicaProperties settings = properties.getObject();
+            MeterRegistry registry = meterRegistry.getObject();
+            ReadYourWrites readYourWrites = new ReadYourWrites(settings.readYourWritesWindow());
+
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (ReadReplicaProperties.Replica replica : settings.replicas()) {
+                HikariDataSource pool = replicaPool(primary, replica, "replica-" + (replicas.size() + 1), registry);
+                replicaPools.add(pool);
+                replicas.put(pool.getPoolName(), new ConnectionTimingDataSource(pool));
+            }
+
+            // The proxy hands out connections lazily, so connection waits have to be timed per pool.
+            DataSource timedPrimary = new ConnectionTimingDataSource(primary);
+            DataSource writes = ProxyDataSourceBuilder.create(timedPrimary)
+                    .name(beanName)
+                    .afterQuery((execInfo, queries) -> {
+                        if (execInfo.isSuccess() && queries.stream()
+                                .anyMatch(query -> QueryUtils.getQueryType(query.getQuery()) != QueryType.SELECT)) {
+                            readYourWrites.recordWrite();
+                        }
+                    })
+                    .build();
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writes);
+            routing.setReadOnlyDataSource(new ReadReplicaDataSource(timedPrimary, replicas, readYourWrites, registry));
+            return routing;
+        }
+
+        private static HikariDataSource replicaPool(HikariDataSource primary, ReadReplicaProperties.Replica replica,
+                                                    String poolName, MeterRegistry registry) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                config.setUsername(replica.username());
+            }
+            if (replica.password() != null) {
+                config.setPassword(replica.password());
+            }
+            config.setPoolName(poolName);
+            config.setReadOnly(true);
+            // A replica that is down at startup should cost its reads a fallback, not the whole node.
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(null);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            return new HikariDataSource(config);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            replicaPools.forEach(HikariDataSource::close);
+        }
+    }
+}
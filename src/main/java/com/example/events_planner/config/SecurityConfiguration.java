@@ -1,17 +1,23 @@
 package com.example.events_planner.config;
 
+import com.example.events_planner.controller.EventController;
 import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
+import com.example.events_planner.security.BoundedPasswordEncoder;
+import com.example.events_planner.security.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.NonNull;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
@@ -30,6 +36,7 @@ import java.util.List;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class SecurityConfiguration {
 
     @Bean
@@ -52,7 +59,7 @@ public class SecurityConfiguration {
                 .cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for simplified REST API (use tokens or cookie-based CSRF if needed)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/me", "/error").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/me", "/api/calendar/*.ics", "/error").permitAll()
                         .requestMatchers("/actuator/**", "/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/events/**", "/api/tasks/**", "/api/users/**").authenticated()
                         .anyRequest().authenticated()
@@ -91,6 +98,7 @@ public class SecurityConfiguration {
         configuration.setAllowedOrigins(List.of("http://localhost:5173")); // Default Vue/Vite port
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(EventController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -100,20 +108,12 @@ public class SecurityConfiguration {
     @Bean
     public UserDetailsService userDetailsService(UserRepository userRepository) {
         return username -> userRepository.findByUsername(username)
-                .map(u -> User.builder()
-                        .username(u.getUsername())
-                        .password(u.getPassword())
-                        .disabled(!u.isEnabled())
-                        .accountLocked(!u.isAccountNonLocked())
-                        .authorities(u.getAuthorities().stream()
-                                .map(org.springframework.security.core.authority.SimpleGrantedAuthority::new)
-                                .toList())
-                        .build())
+                .map(AuthenticatedUser::from)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), properties, meterRegistry);
     }
 }
@@ -4,9 +4,15 @@ import com.example.events_planner.dto.AdminStatsDTO;
 import com.example.events_planner.dto.UserAdminRequest;
 import com.example.events_planner.dto.UserDetailDTO;
 import com.example.events_planner.exception.ResourceNotFoundException;
+import com.example.events_planner.service.ExportDataset;
+import com.example.events_planner.service.ExportFormat;
+import com.example.events_planner.service.ExportService;
 import com.example.events_planner.service.StatisticsService;
 import com.example.events_planner.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +21,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -26,10 +36,12 @@ public class AdminController {
 
     private final StatisticsService statisticsService;
     private final UserService userService;
+    private final ExportService exportService;
 
-    public AdminController(StatisticsService statisticsService, UserService userService) {
+    public AdminController(StatisticsService statisticsService, UserService userService, ExportService exportService) {
         this.statisticsService = statisticsService;
         this.userService = userService;
+        this.exportService = exportService;
     }
 
     @GetMapping("/stats")
@@ -64,4 +76,18 @@ public class AdminController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/export/{dataset}")
+    public void export(@PathVariable("dataset") String dataset,
+                       @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        ExportDataset target = ExportDataset.fromName(dataset);
+        ExportFormat type = ExportFormat.fromName(format);
+        response.setContentType(type.mediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(target.name().toLowerCase(Locale.ROOT) + "." + type.extension())
+                .build().toString());
+        exportService.export(target, type, response.getWriter());
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.events_planner.controller;
+
+import com.example.events_planner.dto.CalendarEntryDTO;
+import com.example.events_planner.dto.CalendarFeedTokenDTO;
+import com.example.events_planner.exception.ResourceNotFoundException;
+import com.example.events_planner.service.CalendarService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarController {
+
+    public static final String ICS_CONTENT_TYPE = "text/calendar";
+
+    private final CalendarService calendarService;
+
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+
+    @GetMapping
+    public List<CalendarEntryDTO> getCalendar(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        return calendarService.getCalendar(from, to);
+    }
+
+    @PostMapping("/token")
+    public CalendarFeedTokenDTO rotateFeedToken() {
+        return calendarService.rotateFeedToken();
+    }
+
+    /**
+     * Public feed for calendar apps, authorized by the token alone. Polls that find nothing new
+     * are answered with 304 after two small lookups.
+     */
+    @GetMapping("/{token}.ics")
+    public void getFeed(@PathVariable("token") String token, WebRequest request, HttpServletResponse response)
+            throws IOException {
+        UUID owner = calendarService.findFeedOwner(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendar feed not found"));
+        boolean notModified = ConditionalRequests.checkNotModified(request, calendarService.getFeedVersion(owner));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (notModified) {
+            return;
+        }
+        response.setContentType(ICS_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        calendarService.writeFeed(owner, response.getWriter());
+    }
+}
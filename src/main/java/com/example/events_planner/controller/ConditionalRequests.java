@@ -0,0 +1,71 @@
+package com.example.events_planner.controller;
+
+import com.example.events_planner.exception.PreconditionFailedException;
+import com.example.events_planner.repository.CalendarRepository;
+import com.example.events_planner.repository.EntityVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validators for detail endpoints and the calendar feed, checked against the row version before the entity graph
+ * is loaded, and the {@code If-Match} preconditions that writes enforce against the same version.
+ */
+final class ConditionalRequests {
+
+    private static final Pattern STRONG_VERSION_TAG = Pattern.compile("\"(\\d+)\"");
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Sets ETag and Last-Modified on the response and returns true when the client's copy is still current,
+     * in which case the response has already been turned into a 304.
+     */
+    static boolean checkNotModified(WebRequest request, EntityVersion version) {
+        return checkNotModified(request, etag(version.version()), version.updatedAt());
+    }
+
+    /**
+     * Same for a calendar feed, whose version is its entry count together with its newest modification.
+     */
+    static boolean checkNotModified(WebRequest request, CalendarRepository.FeedVersion version) {
+        OffsetDateTime newest = version.newest();
+        long newestMicros = newest == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, newest.toInstant());
+        return checkNotModified(request, etag(version.entries(), newestMicros), newest);
+    }
+
+    // An empty feed has no modification time; a negative timestamp leaves Last-Modified out.
+    private static boolean checkNotModified(WebRequest request, String etag, OffsetDateTime lastModified) {
+        return request.checkNotModified(etag, lastModified == null ? -1 : lastModified.toInstant().toEpochMilli());
+    }
+
+    static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String etag(long entries, long newestMicros) {
+        return "\"" + entries + "-" + newestMicros + "\"";
+    }
+
+    /**
+     * Returns the version the client's {@code If-Match} requires, or {@code null} when any version will do.
+     * Only a single strong ETag as served by the detail endpoints can match; anything else fails the precondition.
+     */
+    static Long expectedVersion(WebRequest request) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = STRONG_VERSION_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
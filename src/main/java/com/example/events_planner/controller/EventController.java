@@ -1,12 +1,22 @@
 package com.example.events_planner.controller;
 
 import com.example.events_planner.dto.EventDetailDTO;
+import com.example.events_planner.dto.EventDistanceDTO;
+import com.example.events_planner.dto.EventDistancePageDTO;
+import com.example.events_planner.dto.EventPageDTO;
 import com.example.events_planner.dto.EventRequestDTO;
 import com.example.events_planner.dto.EventSummaryDTO;
+import com.example.events_planner.dto.MembershipBulkRequestDTO;
+import com.example.events_planner.dto.MembershipBulkResultDTO;
 import com.example.events_planner.dto.UserSummaryDTO;
 import com.example.events_planner.exception.ResourceNotFoundException;
+import com.example.events_planner.repository.EntityVersion;
 import com.example.events_planner.service.EventService;
+import com.example.events_planner.service.EventStreamHub;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,8 +25,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -25,32 +39,73 @@ import java.util.UUID;
 @RequestMapping("/api/events")
 public class EventController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventService eventService;
+    private final EventStreamHub eventStreamHub;
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, EventStreamHub eventStreamHub) {
         this.eventService = eventService;
+        this.eventStreamHub = eventStreamHub;
     }
 
     @GetMapping
-    public List<EventSummaryDTO> getAllEvents() {
-        return eventService.getAllEvents();
+    public ResponseEntity<List<EventSummaryDTO>> getAllEvents(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(value = "sort", defaultValue = "asc") String sort,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return page(eventService.getAllEvents(cursor, from, to, Sort.Direction.fromString(sort), limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EventSummaryDTO>> searchEvents(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return page(eventService.searchEvents(query, cursor, limit));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<EventDistanceDTO>> findNearbyEvents(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam(value = "radiusKm", defaultValue = "10") double radiusKm,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return page(eventService.findNearbyEvents(latitude, longitude, radiusKm, cursor, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventDetailDTO> getEventById(@PathVariable("id") UUID id) {
+    public ResponseEntity<EventDetailDTO> getEventById(@PathVariable("id") UUID id, WebRequest request) {
+        EntityVersion version = eventService.getEventVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + id));
+        if (ConditionalRequests.checkNotModified(request, version)) {
+            return null;
+        }
         EventDetailDTO event = eventService.getEventById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + id));
         return ResponseEntity.ok(event);
     }
 
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEventChanges(@PathVariable("id") UUID id) {
+        if (eventService.getEventVersion(id).isEmpty()) {
+            throw new ResourceNotFoundException("Event not found with id " + id);
+        }
+        return eventStreamHub.subscribe(id);
+    }
+
     @PostMapping
     public EventDetailDTO createEvent(@Valid @RequestBody EventRequestDTO event) {
         return eventService.createEvent(event);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<EventDetailDTO> updateEvent(@PathVariable("id") UUID id, @Valid @RequestBody EventRequestDTO eventDetails) {
-        return ResponseEntity.ok(eventService.updateEvent(id, eventDetails));
+    public ResponseEntity<EventDetailDTO> updateEvent(@PathVariable("id") UUID id, @Valid @RequestBody EventRequestDTO eventDetails,
+                                                      WebRequest request) {
+        return ResponseEntity.ok(eventService.updateEvent(id, eventDetails, ConditionalRequests.expectedVersion(request)));
     }
 
     @DeleteMapping("/{id}")
@@ -70,22 +125,52 @@ public class EventController {
     }
 
     @PostMapping("/{id}/members/{userId}")
-    public ResponseEntity<EventDetailDTO> addMember(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
-        return ResponseEntity.ok(eventService.addMember(id, userId));
+    public ResponseEntity<Void> addMember(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
+        eventService.addMember(id, userId);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}/members/{userId}")
-    public ResponseEntity<EventDetailDTO> removeMember(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
-        return ResponseEntity.ok(eventService.removeMember(id, userId));
+    public ResponseEntity<Void> removeMember(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
+        eventService.removeMember(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/members/bulk")
+    public ResponseEntity<MembershipBulkResultDTO> updateMembers(@PathVariable("id") UUID id, @Valid @RequestBody MembershipBulkRequestDTO request) {
+        return ResponseEntity.ok(eventService.updateMembers(id, request));
     }
 
     @PostMapping("/{id}/organizers/{userId}")
-    public ResponseEntity<EventDetailDTO> addOrganizer(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
-        return ResponseEntity.ok(eventService.addOrganizer(id, userId));
+    public ResponseEntity<Void> addOrganizer(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
+        eventService.addOrganizer(id, userId);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}/organizers/{userId}")
-    public ResponseEntity<EventDetailDTO> removeOrganizer(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
-        return ResponseEntity.ok(eventService.removeOrganizer(id, userId));
+    public ResponseEntity<Void> removeOrganizer(@PathVariable("id") UUID id, @PathVariable("userId") UUID userId) {
+        eventService.removeOrganizer(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/organizers/bulk")
+    public ResponseEntity<MembershipBulkResultDTO> updateOrganizers(@PathVariable("id") UUID id, @Valid @RequestBody MembershipBulkRequestDTO request) {
+        return ResponseEntity.ok(eventService.updateOrganizers(id, request));
+    }
+
+    private static ResponseEntity<List<EventSummaryDTO>> page(EventPageDTO page) {
+        return page(page.items(), page.nextCursor());
+    }
+
+    private static ResponseEntity<List<EventDistanceDTO>> page(EventDistancePageDTO page) {
+        return page(page.items(), page.nextCursor());
+    }
+
+    private static <T> ResponseEntity<List<T>> page(List<T> items, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
     }
 }
@@ -1,9 +1,15 @@
 package com.example.events_planner.controller;
 
+import com.example.events_planner.dto.TaskBulkCreateRequestDTO;
+import com.example.events_planner.dto.TaskBulkToggleRequestDTO;
+import com.example.events_planner.dto.TaskBulkUpdateRequestDTO;
+import com.example.events_planner.dto.TaskCompletionRequestDTO;
 import com.example.events_planner.dto.TaskDetailDTO;
 import com.example.events_planner.dto.TaskRequestDTO;
 import com.example.events_planner.dto.TaskSummaryDTO;
 import com.example.events_planner.exception.ResourceNotFoundException;
+import com.example.events_planner.repository.EntityVersion;
+import com.example.events_planner.repository.TaskQueries.VersionedTask;
 import com.example.events_planner.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -40,7 +47,12 @@ public class TaskController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDetailDTO> getTaskById(@PathVariable("id") UUID id) {
+    public ResponseEntity<TaskDetailDTO> getTaskById(@PathVariable("id") UUID id, WebRequest request) {
+        EntityVersion version = taskService.getTaskVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+        if (ConditionalRequests.checkNotModified(request, version)) {
+            return null;
+        }
         TaskDetailDTO task = taskService.getTaskById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
         return ResponseEntity.ok(task);
@@ -52,8 +64,9 @@ public class TaskController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDetailDTO> updateTask(@PathVariable("id") UUID id, @Valid @RequestBody TaskRequestDTO taskDetails) {
-        return ResponseEntity.ok(taskService.updateTask(id, taskDetails));
+    public ResponseEntity<TaskDetailDTO> updateTask(@PathVariable("id") UUID id, @Valid @RequestBody TaskRequestDTO taskDetails,
+                                                    WebRequest request) {
+        return ResponseEntity.ok(taskService.updateTask(id, taskDetails, ConditionalRequests.expectedVersion(request)));
     }
 
     @DeleteMapping("/{id}")
@@ -62,8 +75,36 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    public List<TaskDetailDTO> createTasks(@Valid @RequestBody TaskBulkCreateRequestDTO request) {
+        return taskService.createTasks(request.tasks());
+    }
+
+    @PutMapping("/bulk")
+    public List<TaskDetailDTO> updateTasks(@Valid @RequestBody TaskBulkUpdateRequestDTO request) {
+        return taskService.updateTasks(request.tasks());
+    }
+
+    @RequestMapping(value = "/bulk/toggle", method = {RequestMethod.PATCH, RequestMethod.POST})
+    public List<TaskSummaryDTO> toggleTasks(@Valid @RequestBody TaskBulkToggleRequestDTO request) {
+        return taskService.toggleTasks(request.ids());
+    }
+
     @RequestMapping(value = "/{id}/toggle", method = {RequestMethod.PATCH, RequestMethod.POST})
-    public ResponseEntity<TaskDetailDTO> toggleTaskCompletion(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok(taskService.toggleTaskCompletion(id));
+    public ResponseEntity<TaskDetailDTO> toggleTaskCompletion(@PathVariable("id") UUID id, WebRequest request) {
+        return versioned(taskService.toggleTaskCompletion(id, ConditionalRequests.expectedVersion(request)));
+    }
+
+    @PutMapping("/{id}/completed")
+    public ResponseEntity<TaskDetailDTO> setTaskCompletion(@PathVariable("id") UUID id,
+                                                           @Valid @RequestBody TaskCompletionRequestDTO completion,
+                                                           WebRequest request) {
+        return versioned(taskService.setTaskCompletion(id, completion.completed(), ConditionalRequests.expectedVersion(request)));
+    }
+
+    private static ResponseEntity<TaskDetailDTO> versioned(VersionedTask task) {
+        return ResponseEntity.ok()
+                .eTag(ConditionalRequests.etag(task.version()))
+                .body(task.task());
     }
 }
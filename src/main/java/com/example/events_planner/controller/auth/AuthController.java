@@ -1,7 +1,10 @@
 package com.example.events_planner.controller.auth;
 
-import com.example.events_planner.entity.User;
 import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
+import com.example.events_planner.security.LoginAttemptTracker;
+import com.example.events_planner.security.PrincipalCache;
+import com.example.events_planner.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -11,13 +14,13 @@ import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -27,7 +30,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.OffsetDateTime;
 import java.util.Map;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -35,28 +37,39 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final PrincipalCache principalCache;
     private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
     private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
 
-    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository,
+                          UserService userService, LoginAttemptTracker loginAttemptTracker,
+                          PrincipalCache principalCache) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.principalCache = principalCache;
     }
 
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request, HttpServletResponse response) {
+        String username = loginRequest.username();
+        if (loginAttemptTracker.isBlocked(username)) {
+            return invalidCredentials();
+        }
         try {
             UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(
-                    loginRequest.username(), loginRequest.password());
+                    username, loginRequest.password());
             Authentication authentication = authenticationManager.authenticate(token);
 
-            userRepository.findByUsername(loginRequest.username()).ifPresent(user -> {
-                user.setLastLogin(OffsetDateTime.now());
-                user.setFailedLoginAttempts(0);
-                userRepository.save(user);
-            });
+            loginAttemptTracker.reset(username);
+            userRepository.recordSuccessfulLogin(username, OffsetDateTime.now());
+            // Only a verified principal may be cached; a failed attempt must not warm the cache.
+            if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+                principalCache.put(principal);
+            }
 
             SecurityContext context = securityContextHolderStrategy.createEmptyContext();
             context.setAuthentication(authentication);
@@ -64,18 +77,21 @@ public class AuthController {
             securityContextRepository.saveContext(context, request, response);
 
             return ResponseEntity.ok(Map.of("message", "Login successful"));
+        } catch (BadCredentialsException e) {
+            // Only count attempts against an existing account, in the database and in memory alike.
+            if (userRepository.recordFailedLogin(username, LoginAttemptTracker.MAX_FAILED_ATTEMPTS) > 0) {
+                loginAttemptTracker.recordFailure(username);
+            }
+            return invalidCredentials();
         } catch (AuthenticationException e) {
-            userRepository.findByUsername(loginRequest.username()).ifPresent(user -> {
-                user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
-                if (user.getFailedLoginAttempts() >= 5) {
-                    user.setAccountNonLocked(false);
-                }
-                userRepository.save(user);
-            });
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
+            return invalidCredentials();
         }
     }
 
+    private static ResponseEntity<Map<String, String>> invalidCredentials() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
+    }
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, String>> register(@Valid @RequestBody RegisterRequest registerRequest) {
         if (userRepository.existsByUsername(registerRequest.username())) {
@@ -85,15 +101,7 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Email already exists"));
         }
 
-        User user = new User();
-        user.setUsername(registerRequest.username());
-        user.setEmail(registerRequest.email());
-        user.setPassword(passwordEncoder.encode(registerRequest.password()));
-        user.setAuthorities(Set.of("ROLE_USER"));
-        user.setCreatedAt(OffsetDateTime.now());
-        user.setUpdatedAt(OffsetDateTime.now());
-
-        userRepository.save(user);
+        userService.registerUser(registerRequest.username(), registerRequest.email(), registerRequest.password());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", "User registered successfully"));
     }
@@ -1,14 +1,14 @@
 package com.example.events_planner.controller.auth;
 
-import com.example.events_planner.entity.User;
-import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
+import com.example.events_planner.security.PrincipalCache;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -16,10 +16,10 @@ import java.util.Optional;
 @RequestMapping("/api/me")
 public class MeController {
 
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public MeController(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public MeController(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
     }
 
     @GetMapping
@@ -30,15 +30,12 @@ public class MeController {
         }
 
         String username = authentication.getName();
-        Optional<User> userOpt = userRepository.findByUsername(username);
-
+        Optional<AuthenticatedUser> principal = principalCache.find(username);
         return Map.of(
                 "authenticated", true,
-                "id", userOpt.map(User::getId).map(Object::toString).orElse("unknown"),
+                "id", principal.map(AuthenticatedUser::getId).map(Object::toString).orElse("unknown"),
                 "username", username,
-                "roles", authentication.getAuthorities().stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .toList()
+                "roles", principal.map(AuthenticatedUser::getRoles).map(List::copyOf).orElse(List.of())
         );
     }
 }
@@ -0,0 +1,78 @@
+package com.example.events_planner.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: round robin over the replicas, except for users inside
+ * their read-your-writes window, who stay on the primary. A replica that cannot supply a connection sends that
+ * read to the primary instead of failing it.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter readYourWritesReads;
+    private final Counter fallbackReads;
+
+    public ReadReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWrites readYourWrites,
+                                 MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue(), reads(registry, replica.getKey(), "replica")))
+                .toList();
+        this.readYourWrites = readYourWrites;
+        this.readYourWritesReads = reads(registry, PRIMARY, "read-your-writes");
+        this.fallbackReads = reads(registry, PRIMARY, "fallback");
+    }
+
+    private static Counter reads(MeterRegistry registry, String pool, String reason) {
+        return Counter.builder("datasource.reads")
+                .description("Read-only transactions by the pool that served them and why")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.isRecentWriter()) {
+            readYourWritesReads.increment();
+            return primary.getConnection();
+        }
+        Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+        try {
+            Connection connection = replica.dataSource().getConnection();
+            replica.reads().increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica {} unavailable, reading from the primary", replica.name(), e);
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    private record Replica(String name, DataSource dataSource, Counter reads) {}
+}
@@ -0,0 +1,21 @@
+package com.example.events_planner.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas that serve read-only transactions. Replica pools copy the primary's Hikari settings; a replica
+ * without credentials uses the primary's. {@code readYourWritesWindow} is how long after a committed write a
+ * user's reads stay on the primary; zero turns stickiness off.
+ */
+@ConfigurationProperties("app.datasource")
+public record ReadReplicaProperties(
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue("5s") Duration readYourWritesWindow
+) {
+
+    public record Replica(String url, String username, String password) {}
+}
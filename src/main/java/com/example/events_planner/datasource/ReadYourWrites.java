@@ -0,0 +1,75 @@
+package com.example.events_planner.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote to the primary recently, so their own reads can skip replicas that may not have
+ * caught up yet. The window starts when the writing transaction commits. Writes by anonymous callers and by
+ * background threads are not tracked.
+ */
+public class ReadYourWrites {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+
+    private final Cache<String, Boolean> recentWriters;
+    private final Object transactionKey = new Object();
+
+    public ReadYourWrites(Duration window) {
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite() {
+        if (recentWriters == null) {
+            return;
+        }
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(username, Boolean.TRUE);
+            return;
+        }
+        // Once per transaction, however many statements it writes.
+        if (TransactionSynchronizationManager.hasResource(transactionKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(transactionKey, username);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                if (status == STATUS_COMMITTED) {
+                    recentWriters.put(username, Boolean.TRUE);
+                }
+            }
+        });
+    }
+
+    public boolean isRecentWriter() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String username = currentUsername();
+        return username != null && recentWriters.getIfPresent(username) != null;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
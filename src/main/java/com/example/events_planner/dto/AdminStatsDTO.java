@@ -1,10 +1,14 @@
 package com.example.events_planner.dto;
 
+import java.time.OffsetDateTime;
+
 public record AdminStatsDTO(
     long totalUsers,
     long totalEvents,
     long totalTasks,
     long completedTasks,
     double taskCompletionRate,
-    long activeOrganizers
+    long activeOrganizers,
+    OffsetDateTime reconciledAt,
+    long secondsSinceReconciliation
 ) {}
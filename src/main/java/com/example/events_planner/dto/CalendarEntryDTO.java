@@ -0,0 +1,18 @@
+package com.example.events_planner.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record CalendarEntryDTO(
+    Type type,
+    UUID id,
+    String title,
+    OffsetDateTime at,
+    UUID eventId,
+    Boolean completed
+) {
+    public enum Type {
+        EVENT,
+        TASK
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.events_planner.dto;
+
+public record CalendarFeedTokenDTO(
+    String token,
+    String path
+) {}
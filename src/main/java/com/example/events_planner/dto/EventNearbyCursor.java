@@ -0,0 +1,32 @@
+package com.example.events_planner.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in proximity results, ordered by distance and then id, handed to clients as an opaque string.
+ */
+public record EventNearbyCursor(
+    double distanceKm,
+    UUID id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = Double.doubleToLongBits(distanceKm) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventNearbyCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new EventNearbyCursor(
+                    Double.longBitsToDouble(Long.parseLong(raw.substring(0, separator))),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.events_planner.dto;
+
+import java.util.List;
+
+public record EventPageDTO(
+    List<EventSummaryDTO> items,
+    String nextCursor
+) {}
@@ -1,5 +1,7 @@
 package com.example.events_planner.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.OffsetDateTime;
@@ -17,5 +19,11 @@ public record EventRequestDTO(
     String street,
     String city,
     String zipCode,
-    String country
+    String country,
+
+    @DecimalMin("-90") @DecimalMax("90")
+    Double latitude,
+
+    @DecimalMin("-180") @DecimalMax("180")
+    Double longitude
 ) {}
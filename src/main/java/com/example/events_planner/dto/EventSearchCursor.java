@@ -0,0 +1,32 @@
+package com.example.events_planner.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in search results, ordered by rank and then id, handed to clients as an opaque string.
+ */
+public record EventSearchCursor(
+    float rank,
+    UUID id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new EventSearchCursor(
+                    Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator))),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
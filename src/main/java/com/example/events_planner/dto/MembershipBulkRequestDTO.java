@@ -0,0 +1,13 @@
+package com.example.events_planner.dto;
+
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+public record MembershipBulkRequestDTO(
+    @Size(max = 1000, message = "At most 1000 user ids can be added at once")
+    Set<UUID> add,
+
+    @Size(max = 1000, message = "At most 1000 user ids can be removed at once")
+    Set<UUID> remove
+) {}
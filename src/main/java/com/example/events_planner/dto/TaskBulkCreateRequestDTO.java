@@ -0,0 +1,12 @@
+package com.example.events_planner.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record TaskBulkCreateRequestDTO(
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 500, message = "At most 500 tasks can be created at once")
+    List<@Valid TaskRequestDTO> tasks
+) {}
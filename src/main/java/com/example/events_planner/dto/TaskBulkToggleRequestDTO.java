@@ -0,0 +1,12 @@
+package com.example.events_planner.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+public record TaskBulkToggleRequestDTO(
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = 500, message = "At most 500 tasks can be toggled at once")
+    Set<UUID> ids
+) {}
@@ -0,0 +1,23 @@
+package com.example.events_planner.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+public record TaskBulkUpdateRequestDTO(
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 500, message = "At most 500 tasks can be updated at once")
+    List<@Valid Item> tasks
+) {
+    public record Item(
+        @NotNull(message = "Task id is required")
+        UUID id,
+
+        @NotNull(message = "Task changes are required")
+        @Valid
+        TaskRequestDTO changes
+    ) {}
+}
@@ -0,0 +1,8 @@
+package com.example.events_planner.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record TaskCompletionRequestDTO(
+    @NotNull(message = "Completed is required")
+    Boolean completed
+) {}
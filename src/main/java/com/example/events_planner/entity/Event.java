@@ -10,9 +10,16 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
@@ -21,7 +28,24 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "events")
+@NamedEntityGraph(
+    name = Event.DETAIL_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode(value = "tasks", subgraph = "tasks")
+    },
+    subgraphs = @NamedSubgraph(name = "tasks", attributeNodes = @NamedAttributeNode("assignedTo"))
+)
 public class Event {
+    /**
+     * Loads the address and tasks with their assignees in one join. Organizers and members are
+     * left to batch fetching so the three collections never multiply into a cartesian product.
+     */
+    public static final String DETAIL_GRAPH = "Event.detail";
+
+    // Collection changes do not bump the version through the entity; the write paths bump it with
+    // EventRepository.touch so concurrent task and membership writes never conflict with each other.
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -39,6 +63,8 @@ public class Event {
     private Address address;
 
     @ManyToMany
+    @BatchSize(size = 50)
+    @OptimisticLock(excluded = true)
     @JoinTable(
         name = "event_organizers",
         joinColumns = @JoinColumn(name = "event_id"),
@@ -47,6 +73,8 @@ public class Event {
     private Set<User> organizers = new HashSet<>();
 
     @ManyToMany
+    @BatchSize(size = 50)
+    @OptimisticLock(excluded = true)
     @JoinTable(
         name = "event_members",
         joinColumns = @JoinColumn(name = "event_id"),
@@ -54,7 +82,9 @@ public class Event {
     )
     private Set<User> members = new HashSet<>();
 
-    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    // No REFRESH: refreshing an event after a version bump must not reload every task one by one.
+    @OneToMany(mappedBy = "event", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     @JsonManagedReference
     private Set<Task> tasks = new HashSet<>();
 
@@ -64,6 +94,14 @@ public class Event {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt = OffsetDateTime.now();
 
+    @Version
+    private long version;
+
+    @PreUpdate
+    void touch() {
+        updatedAt = OffsetDateTime.now();
+    }
+
     // Getters and Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -90,4 +128,5 @@ public class Event {
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
     @SuppressWarnings("unused")
     public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public long getVersion() { return version; }
 }
@@ -2,7 +2,6 @@ package com.example.events_planner.mapper;
 
 import com.example.events_planner.dto.AddressDTO;
 import com.example.events_planner.dto.EventDetailDTO;
-import com.example.events_planner.dto.EventSummaryDTO;
 import com.example.events_planner.entity.Event;
 import org.springframework.stereotype.Component;
 
@@ -19,20 +18,6 @@ public class EventMapper {
         this.taskMapper = taskMapper;
     }
 
-    public EventSummaryDTO toSummaryDTO(Event event) {
-        if (event == null) return null;
-        return new EventSummaryDTO(
-                event.getId(),
-                event.getTitle(),
-                event.getDescription(),
-                event.getDate(),
-                event.getAddress() != null ? event.getAddress().getCity() : null,
-                event.getMembers().size() + event.getOrganizers().size(),
-                event.getTasks().size(),
-                event.getTasks().stream().anyMatch(task -> !task.isCompleted())
-        );
-    }
-
     public EventDetailDTO toDetailDTO(Event event) {
         if (event == null) return null;
         return new EventDetailDTO(
@@ -5,6 +5,8 @@ import com.example.events_planner.dto.UserSummaryDTO;
 import com.example.events_planner.entity.User;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class UserMapper {
 
@@ -26,7 +28,7 @@ public class UserMapper {
                 user.getLastLogin(),
                 user.getCreatedAt(),
                 user.getUpdatedAt(),
-                user.getAuthorities()
+                Set.copyOf(user.getAuthorities())
         );
     }
 }
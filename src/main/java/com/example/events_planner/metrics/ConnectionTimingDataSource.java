@@ -0,0 +1,31 @@
+package com.example.events_planner.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Adds the time spent waiting for a pooled connection to the current {@link RequestTiming}.
+ */
+public class ConnectionTimingDataSource extends DelegatingDataSource {
+
+    public ConnectionTimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return super.getConnection();
+        }
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            timing.addConnection(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.events_planner.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Adds the time spent executing statements to the current {@link RequestTiming}.
+ * datasource-proxy only reports whole milliseconds, so executions are timed here in nanoseconds.
+ */
+public final class JdbcTimingListener implements QueryExecutionListener {
+
+    private static final String START = JdbcTimingListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestTiming.current() != null) {
+            execInfo.addCustomValue(START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTiming timing = RequestTiming.current();
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (timing != null && start != null) {
+            timing.addSql(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.events_planner.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Around advice for the entity-to-DTO mappers, attributing their time to the mapping phase.
+ */
+public class MappingTimingInterceptor implements MethodInterceptor {
+
+    @Override
+    public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return invocation.proceed();
+        }
+        timing.enterMapping();
+        try {
+            return invocation.proceed();
+        } finally {
+            timing.exitMapping();
+        }
+    }
+}
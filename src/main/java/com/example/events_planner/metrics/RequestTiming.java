@@ -0,0 +1,111 @@
+package com.example.events_planner.metrics;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Where the wall time of the current request went. Lives in a thread local for the duration of the
+ * request, so the JDBC listeners, mapper proxies and response advice can report into it without being
+ * handed anything; outside a request {@link #current()} is {@code null} and reporting is a no-op.
+ * <p>
+ * Mapping and serialisation are kept exclusive of JDBC time: a lazy load triggered while mapping counts as
+ * SQL, not as mapping, so the phases add up to no more than the total.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long startStatements = SqlStatementCounter.current();
+    private long connectionNanos;
+    private long sqlNanos;
+    private long mappingNanos;
+    private int mappingDepth;
+    private long mappingStart;
+    private long mappingJdbcStart;
+    private long serializationNanos;
+    private long serializationStart = -1;
+    private long serializationJdbcStart;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static @Nullable RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    void addConnection(long nanos) {
+        connectionNanos += nanos;
+    }
+
+    void addSql(long nanos) {
+        sqlNanos += nanos;
+    }
+
+    /**
+     * Mappers call each other; only the outermost call is timed.
+     */
+    void enterMapping() {
+        if (mappingDepth++ == 0) {
+            mappingStart = System.nanoTime();
+            mappingJdbcStart = jdbcNanos();
+        }
+    }
+
+    void exitMapping() {
+        if (--mappingDepth == 0) {
+            mappingNanos += System.nanoTime() - mappingStart - (jdbcNanos() - mappingJdbcStart);
+        }
+    }
+
+    void startSerialization() {
+        if (serializationStart < 0) {
+            serializationStart = System.nanoTime();
+            serializationJdbcStart = jdbcNanos();
+        }
+    }
+
+    void endSerialization() {
+        if (serializationStart >= 0) {
+            serializationNanos += System.nanoTime() - serializationStart - (jdbcNanos() - serializationJdbcStart);
+            serializationStart = -1;
+        }
+    }
+
+    private long jdbcNanos() {
+        return connectionNanos + sqlNanos;
+    }
+
+    public long connectionNanos() {
+        return connectionNanos;
+    }
+
+    public long sqlNanos() {
+        return sqlNanos;
+    }
+
+    public long statements() {
+        return SqlStatementCounter.current() - startStatements;
+    }
+
+    public long mappingNanos() {
+        return mappingNanos;
+    }
+
+    public long serializationNanos() {
+        return serializationNanos;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
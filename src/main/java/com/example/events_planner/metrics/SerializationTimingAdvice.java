@@ -0,0 +1,37 @@
+package com.example.events_planner.metrics;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the point where the handler is done and the message converter takes over; serialisation runs from
+ * here until {@link ServerTimingFilter} regains control.
+ */
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public @Nullable Object beforeBodyWrite(@Nullable Object body, @NonNull MethodParameter returnType,
+                                            @NonNull MediaType selectedContentType,
+                                            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.startSerialization();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.events_planner.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks each request's wall time down into connection acquisition, SQL execution, mapping and serialisation.
+ * Every request feeds the {@code http.server.requests.phase} timers. Admins additionally get the breakdown as a
+ * {@code Server-Timing} header on event and task endpoints. Serialisation time is only known once the body has
+ * been written, so those responses are buffered; the event streams are never eligible, whatever the client accepts.
+ * <p>
+ * Runs after the security filter chain, so the principal lookup is not part of the breakdown.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final List<String> EXPOSED_PATHS = List.of("/api/events", "/api/tasks");
+    private static final String STREAM_SUFFIX = "/stream";
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    private final MeterRegistry registry;
+
+    public ServerTimingFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        ContentCachingResponseWrapper buffered = exposeTo(request) ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            RequestTiming.clear();
+            if (!request.isAsyncStarted()) {
+                timing.endSerialization();
+                record(request, timing);
+                if (buffered != null) {
+                    buffered.setHeader(SERVER_TIMING_HEADER, header(timing));
+                }
+            }
+            if (buffered != null) {
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static boolean exposeTo(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (EXPOSED_PATHS.stream().noneMatch(path::startsWith)) {
+            return false;
+        }
+        // Event streams keep writing after the filter returns; a buffer would hold their events back.
+        if (path.endsWith(STREAM_SUFFIX)) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
+    private void record(HttpServletRequest request, RequestTiming timing) {
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : "UNKNOWN";
+        phase("connection", request.getMethod(), uri).record(timing.connectionNanos(), TimeUnit.NANOSECONDS);
+        phase("sql", request.getMethod(), uri).record(timing.sqlNanos(), TimeUnit.NANOSECONDS);
+        phase("mapping", request.getMethod(), uri).record(timing.mappingNanos(), TimeUnit.NANOSECONDS);
+        phase("serialization", request.getMethod(), uri).record(timing.serializationNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer phase(String phase, String method, String uri) {
+        return Timer.builder("http.server.requests.phase")
+                .description("Request time spent per phase")
+                .tag("phase", phase)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String header(RequestTiming timing) {
+        return String.join(", ",
+                metric("conn", timing.connectionNanos(), "Connection acquisition"),
+                metric("db", timing.sqlNanos(), timing.statements() + " SQL statements"),
+                metric("map", timing.mappingNanos(), "Entity to DTO mapping"),
+                metric("ser", timing.serializationNanos(), "Serialisation"),
+                metric("total", timing.elapsedNanos(), "Total"));
+    }
+
+    private static String metric(String name, long nanos, String description) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f;desc=\"%s\"", name, nanos / 1_000_000.0, description);
+    }
+}
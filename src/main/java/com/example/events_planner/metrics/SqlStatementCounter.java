@@ -0,0 +1,32 @@
+package com.example.events_planner.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts JDBC executions per thread. A batch counts once, since it is a single round trip.
+ * The count only ever grows; callers take a reading before and after the work they want to measure.
+ */
+public final class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> EXECUTIONS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Statements executed on the current thread so far.
+     */
+    public static long current() {
+        return EXECUTIONS.get()[0];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        EXECUTIONS.get()[0]++;
+    }
+}
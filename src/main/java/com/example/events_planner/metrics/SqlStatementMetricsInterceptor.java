@@ -0,0 +1,77 @@
+package com.example.events_planner.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements each request issued, as the {@code http.server.requests.sql} summary
+ * tagged with the method and URI template. Statements run by the security filters before the handler
+ * (the principal lookup) are outside the measurement, and so is work handed off to other threads.
+ */
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Request attribute holding the statement count once the request has completed.
+     */
+    public static final String STATEMENT_COUNT_ATTRIBUTE = SqlStatementMetricsInterceptor.class.getName() + ".count";
+
+    private static final String START_ATTRIBUTE = SqlStatementMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+
+    public SqlStatementMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        request.setAttribute(START_ATTRIBUTE, SqlStatementCounter.current());
+        return true;
+    }
+
+    /**
+     * An async request continues in a later dispatch, possibly on another thread; bank what this one issued.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements(request));
+        request.removeAttribute(START_ATTRIBUTE);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        long statements = statements(request);
+        request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+        request.removeAttribute(START_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri(request))
+                .register(registry)
+                .record(statements);
+    }
+
+    private static long statements(HttpServletRequest request) {
+        long banked = request.getAttribute(STATEMENT_COUNT_ATTRIBUTE) instanceof Long count ? count : 0;
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            return banked + SqlStatementCounter.current() - start;
+        }
+        return banked;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : "UNKNOWN";
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.dto.CalendarEntryDTO;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class CalendarRepository {
+
+    // Events come from a range scan on ix_events_date and tasks from ix_tasks_assigned_to_due_date;
+    // both branches are merged into one list ordered by time.
+    static final String ENTRIES_SQL = """
+            SELECT 'EVENT' AS type, e.id, e.title, e.date AS at, e.id AS event_id, NULL::boolean AS completed
+            FROM events e
+            WHERE e.date >= :from AND e.date < :to
+              AND """ + EventQueriesImpl.VISIBLE_TO_USER + """
+
+            UNION ALL
+            SELECT 'TASK', t.id, t.description, t.due_date, t.event_id, t.completed
+            FROM tasks t
+            WHERE t.assigned_to_id = :userId AND t.due_date >= :from AND t.due_date < :to
+            ORDER BY at, type, id""";
+
+    private static final String FEED_EVENT_IDS = """
+            SELECT event_id FROM event_members WHERE user_id = :userId
+            UNION
+            SELECT event_id FROM event_organizers WHERE user_id = :userId""";
+
+    private static final String FEED_VERSION_SQL = """
+            SELECT greatest((SELECT max(e.updated_at) FROM events e WHERE e.id IN (%1$s)),
+                            (SELECT max(t.updated_at) FROM tasks t WHERE t.assigned_to_id = :userId)) AS newest,
+                   (SELECT count(*) FROM (%1$s) f)
+                     + (SELECT count(*) FROM tasks t WHERE t.assigned_to_id = :userId) AS entries""".formatted(FEED_EVENT_IDS);
+
+    private static final String FEED_EVENTS_SQL = """
+            SELECT e.id, e.title, e.description, e.date, e.updated_at,
+                   concat_ws(', ', a.location_name, a.street, a.city, a.country) AS location
+            FROM events e
+            LEFT JOIN addresses a ON a.id = e.address_id
+            WHERE e.id IN (%s)""".formatted(FEED_EVENT_IDS);
+
+    private static final String FEED_TASKS_SQL = """
+            SELECT t.id, t.description, t.completed, t.due_date, t.event_id, t.updated_at
+            FROM tasks t
+            WHERE t.assigned_to_id = :userId""";
+
+    /**
+     * Newest modification and number of entries in a user's feed; together they change whenever the feed does.
+     */
+    public record FeedVersion(OffsetDateTime newest, long entries) {}
+
+    private final JdbcClient jdbcClient;
+
+    public CalendarRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public List<CalendarEntryDTO> findEntries(UUID userId, OffsetDateTime from, OffsetDateTime to) {
+        return jdbcClient.sql(ENTRIES_SQL)
+                .param("userId", userId)
+                .param("from", from)
+                .param("to", to)
+                .query((rs, rowNum) -> new CalendarEntryDTO(
+                        CalendarEntryDTO.Type.valueOf(rs.getString("type")),
+                        rs.getObject("id", UUID.class),
+                        rs.getString("title"),
+                        rs.getObject("at", OffsetDateTime.class),
+                        rs.getObject("event_id", UUID.class),
+                        rs.getObject("completed", Boolean.class)))
+                .list();
+    }
+
+    public FeedVersion findFeedVersion(UUID userId) {
+        return jdbcClient.sql(FEED_VERSION_SQL)
+                .param("userId", userId)
+                .query((rs, rowNum) -> new FeedVersion(rs.getObject("newest", OffsetDateTime.class), rs.getLong("entries")))
+                .single();
+    }
+
+    public void streamFeedEvents(UUID userId, RowCallbackHandler handler) {
+        jdbcClient.sql(FEED_EVENTS_SQL)
+                .param("userId", userId)
+                .withFetchSize(ExportRepository.FETCH_SIZE)
+                .query(handler);
+    }
+
+    public void streamFeedTasks(UUID userId, RowCallbackHandler handler) {
+        jdbcClient.sql(FEED_TASKS_SQL)
+                .param("userId", userId)
+                .withFetchSize(ExportRepository.FETCH_SIZE)
+                .query(handler);
+    }
+}
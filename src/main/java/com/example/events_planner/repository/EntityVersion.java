@@ -0,0 +1,11 @@
+package com.example.events_planner.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Version and last modification time of a row, enough to answer a conditional GET without loading the entity.
+ */
+public record EntityVersion(
+    long version,
+    OffsetDateTime updatedAt
+) {}
@@ -0,0 +1,40 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.dto.EventCursor;
+import com.example.events_planner.dto.EventDistanceDTO;
+import com.example.events_planner.dto.EventNearbyCursor;
+import com.example.events_planner.dto.EventSearchCursor;
+import com.example.events_planner.dto.EventSummaryDTO;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read paths for events that are answered directly in SQL instead of through the entity graph.
+ */
+public interface EventQueries {
+
+    record RankedSummary(EventSummaryDTO summary, float rank) {}
+
+    /**
+     * Returns one keyset page of event summaries ordered by {@code (date, id)}.
+     * When {@code visibleTo} is set, only events that user organizes or attends are returned.
+     */
+    List<EventSummaryDTO> findSummaries(UUID visibleTo, OffsetDateTime from, OffsetDateTime to,
+                                        EventCursor after, Sort.Direction direction, int limit);
+
+    /**
+     * Returns one page of events matching {@code query} in their title, description, city or location name,
+     * best match first. Visibility works as in {@link #findSummaries}.
+     */
+    List<RankedSummary> search(String query, UUID visibleTo, EventSearchCursor after, int limit);
+
+    /**
+     * Returns one page of events whose address lies within {@code radiusKm} of the given point, nearest first.
+     * Visibility works as in {@link #findSummaries}.
+     */
+    List<EventDistanceDTO> findNearby(double latitude, double longitude, double radiusKm, UUID visibleTo,
+                                      EventNearbyCursor after, int limit);
+}
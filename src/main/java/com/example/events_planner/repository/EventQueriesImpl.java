@@ -0,0 +1,202 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.dto.EventCursor;
+import com.example.events_planner.dto.EventDistanceDTO;
+import com.example.events_planner.dto.EventNearbyCursor;
+import com.example.events_planner.dto.EventSearchCursor;
+import com.example.events_planner.dto.EventSummaryDTO;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class EventQueriesImpl implements EventQueries {
+
+    static final String VISIBLE_TO_USER = """
+            (EXISTS (SELECT 1 FROM event_organizers o WHERE o.event_id = e.id AND o.user_id = :userId)
+             OR EXISTS (SELECT 1 FROM event_members m WHERE m.event_id = e.id AND m.user_id = :userId))""";
+
+    static final RowMapper<EventSummaryDTO> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new EventSummaryDTO(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getObject("date", OffsetDateTime.class),
+            rs.getString("location_name"),
+            rs.getLong("participant_count"),
+            rs.getLong("task_count"),
+            rs.getBoolean("has_unfinished_tasks")
+    );
+
+    private static final String DISTANCE_KM = """
+            6371.0088 * 2 * asin(least(1, sqrt(
+                power(sin(radians(a.latitude - :lat) / 2), 2)
+                + cos(radians(:lat)) * cos(radians(a.latitude)) * power(sin(radians(a.longitude - :lon) / 2), 2))))""";
+
+    private final JdbcClient jdbcClient;
+
+    EventQueriesImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public List<EventSummaryDTO> findSummaries(UUID visibleTo, OffsetDateTime from, OffsetDateTime to,
+                                               EventCursor after, Sort.Direction direction, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (visibleTo != null) {
+            conditions.add(VISIBLE_TO_USER);
+            params.put("userId", visibleTo);
+        }
+        if (from != null) {
+            conditions.add("e.date >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("e.date < :to");
+            params.put("to", to);
+        }
+        if (after != null) {
+            conditions.add("(e.date, e.id) " + (direction.isAscending() ? ">" : "<") + " (:afterDate, :afterId)");
+            params.put("afterDate", after.date());
+            params.put("afterId", after.id());
+        }
+        params.put("limit", limit);
+
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+
+        String sql = summarize("""
+                SELECT e.id, e.title, e.description, e.date, e.address_id
+                FROM events e
+                %s
+                ORDER BY e.date %s, e.id %s
+                LIMIT :limit""".formatted(where, order, order), "", "p.date %s, p.id %s".formatted(order, order));
+
+        return jdbcClient.sql(sql)
+                .params(params)
+                .query(SUMMARY_ROW_MAPPER)
+                .list();
+    }
+
+    @Override
+    public List<RankedSummary> search(String query, UUID visibleTo, EventSearchCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        params.put("query", query);
+        if (visibleTo != null) {
+            conditions.add(VISIBLE_TO_USER);
+            params.put("userId", visibleTo);
+        }
+        String rankFilter = "";
+        if (after != null) {
+            rankFilter = "WHERE r.rank < :afterRank OR (r.rank = :afterRank AND r.id > :afterId)";
+            params.put("afterRank", after.rank());
+            params.put("afterId", after.id());
+        }
+        params.put("limit", limit);
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+
+        // Each table is probed through its own GIN index; the union keeps an event matched by both once.
+        // The tsquery is repeated inline rather than hoisted into a CTE so the planner can fold it into
+        // an index condition.
+        String sql = summarize("""
+                WITH matches AS (
+                    SELECT e.id FROM events e WHERE e.search_vector @@ websearch_to_tsquery('english', :query)
+                    UNION
+                    SELECT e.id FROM addresses a JOIN events e ON e.address_id = a.id
+                    WHERE a.search_vector @@ websearch_to_tsquery('english', :query)
+                ),
+                ranked AS (
+                    SELECT e.id, e.title, e.description, e.date, e.address_id,
+                           ts_rank(e.search_vector || coalesce(ad.search_vector, ''::tsvector),
+                                   websearch_to_tsquery('english', :query)) AS rank
+                    FROM matches
+                    JOIN events e ON e.id = matches.id
+                    LEFT JOIN addresses ad ON ad.id = e.address_id
+                    %s
+                )
+                SELECT r.* FROM ranked r
+                %s
+                ORDER BY r.rank DESC, r.id
+                LIMIT :limit""".formatted(where, rankFilter), ", p.rank", "p.rank DESC, p.id");
+
+        return jdbcClient.sql(sql)
+                .params(params)
+                .query((rs, rowNum) -> new RankedSummary(SUMMARY_ROW_MAPPER.mapRow(rs, rowNum), rs.getFloat("rank")))
+                .list();
+    }
+
+    @Override
+    public List<EventDistanceDTO> findNearby(double latitude, double longitude, double radiusKm, UUID visibleTo,
+                                             EventNearbyCursor after, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("lat", latitude);
+        params.put("lon", longitude);
+        params.put("radius", radiusKm);
+
+        // The grid ranges narrow the candidates through the geo_cell index; the haversine distance is exact.
+        List<String> cells = new ArrayList<>();
+        List<GeoGrid.CellRange> ranges = GeoGrid.cover(latitude, longitude, radiusKm);
+        for (int i = 0; i < ranges.size(); i++) {
+            cells.add("a.geo_cell BETWEEN :cellFrom" + i + " AND :cellTo" + i);
+            params.put("cellFrom" + i, ranges.get(i).from());
+            params.put("cellTo" + i, ranges.get(i).to());
+        }
+        List<String> conditions = new ArrayList<>();
+        conditions.add("(" + String.join(" OR ", cells) + ")");
+        conditions.add("d.distance_km <= :radius");
+        if (visibleTo != null) {
+            conditions.add(VISIBLE_TO_USER);
+            params.put("userId", visibleTo);
+        }
+        if (after != null) {
+            conditions.add("(d.distance_km, e.id) > (:afterDistance, :afterId)");
+            params.put("afterDistance", after.distanceKm());
+            params.put("afterId", after.id());
+        }
+        params.put("limit", limit);
+
+        String sql = summarize("""
+                SELECT e.id, e.title, e.description, e.date, e.address_id, d.distance_km
+                FROM addresses a
+                JOIN events e ON e.address_id = a.id
+                CROSS JOIN LATERAL (SELECT %s AS distance_km) d
+                WHERE %s
+                ORDER BY d.distance_km, e.id
+                LIMIT :limit""".formatted(DISTANCE_KM, String.join(" AND ", conditions)),
+                ", p.distance_km", "p.distance_km, p.id");
+
+        return jdbcClient.sql(sql)
+                .params(params)
+                .query((rs, rowNum) -> new EventDistanceDTO(SUMMARY_ROW_MAPPER.mapRow(rs, rowNum), rs.getDouble("distance_km")))
+                .list();
+    }
+
+    /**
+     * Wraps a page query with the summary aggregates. The page is cut first so the aggregates
+     * only run for the rows that are returned.
+     */
+    private static String summarize(String page, String extraColumns, String orderBy) {
+        return """
+                SELECT p.id, p.title, p.description, p.date,
+                       a.city AS location_name,
+                       (SELECT count(*) FROM event_members m WHERE m.event_id = p.id)
+                         + (SELECT count(*) FROM event_organizers o WHERE o.event_id = p.id) AS participant_count,
+                       ts.task_count,
+                       ts.has_unfinished_tasks%s
+                FROM (%s) p
+                LEFT JOIN addresses a ON a.id = p.address_id
+                CROSS JOIN LATERAL (SELECT count(*) AS task_count,
+                                           coalesce(bool_or(NOT t.completed), false) AS has_unfinished_tasks
+                                    FROM tasks t
+                                    WHERE t.event_id = p.id) ts
+                ORDER BY %s
+                """.formatted(extraColumns, page, orderBy);
+    }
+}
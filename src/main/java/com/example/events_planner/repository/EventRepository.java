@@ -1,17 +1,91 @@
 package com.example.events_planner.repository;
 
 import com.example.events_planner.entity.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventQueries, EventTouches {
+
+    record EventDate(UUID id, OffsetDateTime date) {}
+
     @Query("SELECT COUNT(DISTINCT o.id) FROM Event e JOIN e.organizers o")
     long countDistinctOrganizers();
 
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN e.organizers o LEFT JOIN e.members m WHERE o.id = :userId OR m.id = :userId")
-    List<Event> findByOrganizerOrMember(@Param("userId") UUID userId);
+    @EntityGraph(value = Event.DETAIL_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findDetailById(UUID id);
+
+    List<EventDate> findDatesByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT new com.example.events_planner.repository.EntityVersion(e.version, e.updatedAt) FROM Event e WHERE e.id = :id")
+    Optional<EntityVersion> findVersionById(UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "events"))
+    @Query(value = """
+            UPDATE events SET version = version + 1, updated_at = :now
+            WHERE id IN (SELECT event_id FROM event_members WHERE user_id = :userId
+                         UNION SELECT event_id FROM event_organizers WHERE user_id = :userId
+                         UNION SELECT event_id FROM tasks WHERE assigned_to_id = :userId)""", nativeQuery = true)
+    int touchInvolving(UUID userId, OffsetDateTime now);
+
+    @Query(value = "SELECT count(DISTINCT user_id) FROM event_organizers WHERE user_id IN (:userIds)", nativeQuery = true)
+    long countOrganizingUsers(Collection<UUID> userIds);
+
+    @Query(value = "SELECT count(*) FROM event_organizers WHERE user_id = :userId", nativeQuery = true)
+    long countEventsOrganizedBy(UUID userId);
+
+    /**
+     * Locks the users' rows until the transaction ends. Organizer writes take it before counting, so two
+     * concurrent transactions cannot both see themselves as adding a user's first organized event or removing
+     * their last one. {@code NO KEY UPDATE} leaves foreign key checks against the rows unblocked.
+     */
+    @Query(value = "SELECT id FROM users WHERE id IN (:userIds) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<UUID> lockOrganizerCounts(Collection<UUID> userIds);
+
+    @Query(value = "SELECT user_id FROM event_organizers WHERE event_id = :eventId", nativeQuery = true)
+    List<UUID> findOrganizerIds(UUID eventId);
+
+    // Membership writes go straight to the join tables so the member sets are never loaded.
+    // Joining events and users makes unknown ids insert nothing instead of violating a foreign key.
+    // Native writes name the table they change; otherwise Hibernate empties every second-level cache region.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_members"))
+    @Query(value = """
+            INSERT INTO event_members (event_id, user_id)
+            SELECT e.id, u.id FROM events e JOIN users u ON u.id IN (:userIds)
+            WHERE e.id = :eventId
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int insertMembers(UUID eventId, Collection<UUID> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_members"))
+    @Query(value = "DELETE FROM event_members WHERE event_id = :eventId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteMembers(UUID eventId, Collection<UUID> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_organizers"))
+    @Query(value = """
+            INSERT INTO event_organizers (event_id, user_id)
+            SELECT e.id, u.id FROM events e JOIN users u ON u.id IN (:userIds)
+            WHERE e.id = :eventId
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int insertOrganizers(UUID eventId, Collection<UUID> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_organizers"))
+    @Query(value = "DELETE FROM event_organizers WHERE event_id = :eventId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteOrganizers(UUID eventId, Collection<UUID> userIds);
 }
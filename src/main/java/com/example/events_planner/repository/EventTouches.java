@@ -0,0 +1,18 @@
+package com.example.events_planner.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Version bumps for events whose detail view changed without the event row itself being written.
+ */
+public interface EventTouches {
+
+    /**
+     * Bumps the version of events whose detail view changed through their tasks or join tables. Pending
+     * changes are flushed first, and events already loaded in the persistence context are refreshed, so a
+     * later write to them in the same transaction carries the new version instead of failing its check.
+     */
+    int touch(Collection<UUID> ids, OffsetDateTime now);
+}
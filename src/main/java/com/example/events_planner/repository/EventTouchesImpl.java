@@ -0,0 +1,38 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.entity.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+class EventTouchesImpl implements EventTouches {
+
+    private final EntityManager entityManager;
+
+    EventTouchesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int touch(Collection<UUID> ids, OffsetDateTime now) {
+        entityManager.flush();
+        int updated = entityManager.createQuery(
+                        "UPDATE Event e SET e.version = e.version + 1, e.updatedAt = :now WHERE e.id IN :ids")
+                .setParameter("now", now)
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        // Only instances this transaction already loaded can go stale; a reference to any other id stays a hollow proxy.
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        for (UUID id : ids) {
+            Event event = entityManager.getReference(Event.class, id);
+            if (persistenceUnitUtil.isLoaded(event)) {
+                entityManager.refresh(event);
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.events_planner.repository;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Flat table reads for the admin export. Rows are handed to the extractor as they arrive, and inside a
+ * transaction the fetch size makes the driver read through a server-side cursor instead of buffering the result.
+ */
+@Repository
+public class ExportRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String USERS = """
+            SELECT u.id, u.username, u.email, u.enabled, u.account_non_locked AS "accountNonLocked",
+                   u.failed_login_attempts AS "failedLoginAttempts", u.last_login AS "lastLogin", u.avatar,
+                   ARRAY(SELECT a.authority FROM authorities a WHERE a.user_id = u.id ORDER BY a.authority) AS authorities,
+                   u.created_at AS "createdAt", u.updated_at AS "updatedAt"
+            FROM users u""";
+
+    private static final String EVENTS = """
+            SELECT e.id, e.title, e.description, e.date,
+                   a.location_name AS "locationName", a.street, a.city, a.zip_code AS "zipCode", a.country,
+                   a.latitude, a.longitude,
+                   ARRAY(SELECT o.user_id FROM event_organizers o WHERE o.event_id = e.id) AS "organizerIds",
+                   ARRAY(SELECT m.user_id FROM event_members m WHERE m.event_id = e.id) AS "memberIds",
+                   e.created_at AS "createdAt", e.updated_at AS "updatedAt"
+            FROM events e
+            LEFT JOIN addresses a ON a.id = e.address_id""";
+
+    private static final String TASKS = """
+            SELECT t.id, t.description, t.completed, t.due_date AS "dueDate", t.event_id AS "eventId",
+                   t.assigned_to_id AS "assignedToId", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+            FROM tasks t""";
+
+    private final JdbcClient jdbcClient;
+
+    public ExportRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public <T> T streamUsers(ResultSetExtractor<T> extractor) {
+        return stream(USERS, extractor);
+    }
+
+    public <T> T streamEvents(ResultSetExtractor<T> extractor) {
+        return stream(EVENTS, extractor);
+    }
+
+    public <T> T streamTasks(ResultSetExtractor<T> extractor) {
+        return stream(TASKS, extractor);
+    }
+
+    private <T> T stream(String sql, ResultSetExtractor<T> extractor) {
+        return jdbcClient.sql(sql).withFetchSize(FETCH_SIZE).query(extractor);
+    }
+}
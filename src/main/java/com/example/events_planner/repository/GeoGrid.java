@@ -0,0 +1,64 @@
+package com.example.events_planner.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The grid behind {@code addresses.geo_cell}: 0.1 degree cells numbered {@code row * 3600 + column}.
+ * Turns a search circle into the cell ranges covering its bounding box, one contiguous range per grid row.
+ */
+final class GeoGrid {
+
+    static final double CELL_DEGREES = 0.1;
+    static final int ROWS = 1800;
+    static final int COLUMNS = 3600;
+
+    // Shortest length of a degree of latitude, so the box never undershoots the circle.
+    private static final double MIN_KM_PER_DEGREE = 110.57;
+
+    record CellRange(long from, long to) {}
+
+    private GeoGrid() {
+    }
+
+    static List<CellRange> cover(double latitude, double longitude, double radiusKm) {
+        double latSpan = radiusKm / MIN_KM_PER_DEGREE;
+        double south = Math.max(-90, latitude - latSpan);
+        double north = Math.min(90, latitude + latSpan);
+        double widestLatitude = Math.max(Math.abs(south), Math.abs(north));
+        boolean allLongitudes = widestLatitude >= 89.9;
+        double lonSpan = allLongitudes ? 180 : latSpan / Math.cos(Math.toRadians(widestLatitude));
+
+        List<int[]> columnRanges = new ArrayList<>();
+        if (allLongitudes || lonSpan >= 180) {
+            columnRanges.add(new int[]{0, COLUMNS - 1});
+        } else {
+            int west = column(longitude - lonSpan);
+            int east = column(longitude + lonSpan);
+            if (west <= east) {
+                columnRanges.add(new int[]{west, east});
+            } else {
+                // The box crosses the antimeridian.
+                columnRanges.add(new int[]{west, COLUMNS - 1});
+                columnRanges.add(new int[]{0, east});
+            }
+        }
+
+        List<CellRange> ranges = new ArrayList<>();
+        for (int row = row(south); row <= row(north); row++) {
+            for (int[] columns : columnRanges) {
+                ranges.add(new CellRange((long) row * COLUMNS + columns[0], (long) row * COLUMNS + columns[1]));
+            }
+        }
+        return ranges;
+    }
+
+    private static int row(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / CELL_DEGREES), ROWS - 1);
+    }
+
+    private static int column(double longitude) {
+        double wrapped = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min((int) Math.floor(wrapped / CELL_DEGREES), COLUMNS - 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.dto.TaskDetailDTO;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Write paths for tasks that run as a single SQL statement instead of a read-modify-write through the entity.
+ */
+public interface TaskQueries {
+
+    record VersionedTask(TaskDetailDTO task, long version) {}
+
+    /**
+     * Flips {@code completed}, or sets it when {@code completed} is given, and bumps the owning event's version
+     * in the same statement. Returns the task as written, or empty when no row matched: the id is unknown, its
+     * version differs from {@code expectedVersion}, or it is already in the requested state.
+     */
+    Optional<VersionedTask> updateCompletion(UUID id, Boolean completed, Long expectedVersion, OffsetDateTime now);
+}
@@ -0,0 +1,78 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.dto.TaskDetailDTO;
+import com.example.events_planner.dto.UserSummaryDTO;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+class TaskQueriesImpl implements TaskQueries {
+
+    private static final RowMapper<VersionedTask> VERSIONED_TASK_ROW_MAPPER = (rs, rowNum) -> {
+        UUID assigneeId = rs.getObject("assigned_to_id", UUID.class);
+        return new VersionedTask(new TaskDetailDTO(
+                rs.getObject("id", UUID.class),
+                rs.getString("description"),
+                rs.getBoolean("completed"),
+                rs.getObject("due_date", OffsetDateTime.class),
+                assigneeId != null
+                        ? new UserSummaryDTO(assigneeId, rs.getString("assignee_username"), rs.getString("assignee_avatar"))
+                        : null,
+                rs.getObject("event_id", UUID.class),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class)
+        ), rs.getLong("version"));
+    };
+
+    private final JdbcClient jdbcClient;
+
+    TaskQueriesImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public Optional<VersionedTask> updateCompletion(UUID id, Boolean completed, Long expectedVersion, OffsetDateTime now) {
+        List<String> conditions = new ArrayList<>(List.of("t.id = :id"));
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", id);
+        params.put("now", now);
+        String newState = "NOT t.completed";
+        if (completed != null) {
+            newState = ":completed";
+            conditions.add("t.completed <> :completed");
+            params.put("completed", completed);
+        }
+        if (expectedVersion != null) {
+            conditions.add("t.version = :expectedVersion");
+            params.put("expectedVersion", expectedVersion);
+        }
+        // The condition is evaluated against the row as locked by the UPDATE, so concurrent flips serialise
+        // instead of both acting on the state they read.
+        String sql = """
+                WITH updated AS (
+                    UPDATE tasks t SET completed = %s, version = t.version + 1, updated_at = :now
+                    WHERE %s
+                    RETURNING t.id, t.description, t.completed, t.due_date, t.assigned_to_id, t.event_id,
+                              t.created_at, t.updated_at, t.version
+                ), touched AS (
+                    UPDATE events e SET version = e.version + 1, updated_at = :now
+                    FROM updated u
+                    WHERE e.id = u.event_id
+                )
+                SELECT u.*, a.username AS assignee_username, a.avatar AS assignee_avatar
+                FROM updated u
+                LEFT JOIN users a ON a.id = u.assigned_to_id
+                """.formatted(newState, String.join(" AND ", conditions));
+        return jdbcClient.sql(sql)
+                .params(params)
+                .query(VERSIONED_TASK_ROW_MAPPER)
+                .optional();
+    }
+}
@@ -1,13 +1,31 @@
 package com.example.events_planner.repository;
 
 import com.example.events_planner.entity.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskQueries {
     List<Task> findByEventId(UUID eventId);
     List<Task> findByAssignedToId(UUID userId);
     long countByCompletedTrue();
+    long countByEventId(UUID eventId);
+    long countByEventIdAndCompletedTrue(UUID eventId);
+
+    @EntityGraph(attributePaths = {"assignedTo", "event", "event.address"})
+    List<Task> findByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT new com.example.events_planner.repository.EntityVersion(t.version, t.updatedAt) FROM Task t WHERE t.id = :id")
+    Optional<EntityVersion> findVersionById(UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.version = t.version + 1, t.updatedAt = :now WHERE t.assignedTo.id = :userId")
+    int touchAssignedTo(UUID userId, OffsetDateTime now);
 }
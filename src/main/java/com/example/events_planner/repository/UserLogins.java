@@ -0,0 +1,21 @@
+package com.example.events_planner.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Login bookkeeping on the user row. Every login writes here, so these statements evict only the user they
+ * changed instead of the whole cached users region.
+ */
+public interface UserLogins {
+
+    /**
+     * Counts a failed attempt and locks the account once {@code threshold} consecutive attempts have failed.
+     */
+    @Transactional
+    int recordFailedLogin(String username, int threshold);
+
+    @Transactional
+    int recordSuccessfulLogin(String username, OffsetDateTime loginTime);
+}
@@ -0,0 +1,54 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.cache.EntityCacheEviction;
+import jakarta.persistence.EntityManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+class UserLoginsImpl implements UserLogins {
+
+    // Run as queries rather than updates: returning the id lets the caller evict that one user, and a
+    // native query declares no table, so Hibernate leaves the cached users regions alone.
+    private static final String FAILED_LOGIN_SQL = """
+            UPDATE users
+            SET failed_login_attempts = failed_login_attempts + 1,
+                account_non_locked = account_non_locked AND failed_login_attempts + 1 < :threshold
+            WHERE username = :username
+            RETURNING id""";
+
+    private static final String SUCCESSFUL_LOGIN_SQL = """
+            UPDATE users
+            SET failed_login_attempts = 0, last_login = :loginTime
+            WHERE username = :username
+            RETURNING id""";
+
+    private final EntityManager entityManager;
+    private final EntityCacheEviction entityCacheEviction;
+
+    UserLoginsImpl(EntityManager entityManager, EntityCacheEviction entityCacheEviction) {
+        this.entityManager = entityManager;
+        this.entityCacheEviction = entityCacheEviction;
+    }
+
+    @Override
+    public int recordFailedLogin(String username, int threshold) {
+        List<UUID> ids = entityManager.createNativeQuery(FAILED_LOGIN_SQL, UUID.class)
+                .setParameter("username", username)
+                .setParameter("threshold", threshold)
+                .getResultList();
+        ids.forEach(entityCacheEviction::evictUser);
+        return ids.size();
+    }
+
+    @Override
+    public int recordSuccessfulLogin(String username, OffsetDateTime loginTime) {
+        List<UUID> ids = entityManager.createNativeQuery(SUCCESSFUL_LOGIN_SQL, UUID.class)
+                .setParameter("username", username)
+                .setParameter("loginTime", loginTime)
+                .getResultList();
+        ids.forEach(entityCacheEviction::evictUser);
+        return ids.size();
+    }
+}
@@ -1,13 +1,48 @@
 package com.example.events_planner.repository;
 
 import com.example.events_planner.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserLogins {
+    /**
+     * Read-write on purpose: principals are cached for minutes, so loading one from a replica that has not yet
+     * seen a role change or a fresh registration would keep the stale copy around long after the replica
+     * catches up.
+     */
+    @EntityGraph(attributePaths = "authorities")
+    @Transactional
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    /**
+     * The admin listing needs every user's roles; fetching them in the same query avoids one lookup per user.
+     */
+    @EntityGraph(attributePaths = "authorities")
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithAuthorities();
+
     boolean existsByEmail(String email);
+
+    /**
+     * The token hash is not mapped on {@link User}, so no cached state goes stale; declaring a space of its own
+     * keeps Hibernate from clearing the users region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users.calendar_token_hash"))
+    @Query(value = "UPDATE users SET calendar_token_hash = :tokenHash WHERE id = :id", nativeQuery = true)
+    int updateCalendarTokenHash(UUID id, String tokenHash);
+
+    @Query(value = "SELECT id FROM users WHERE calendar_token_hash = :tokenHash AND enabled", nativeQuery = true)
+    Optional<UUID> findIdByCalendarTokenHash(String tokenHash);
 }
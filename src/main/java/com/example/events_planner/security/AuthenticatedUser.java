@@ -0,0 +1,85 @@
+package com.example.events_planner.security;
+
+import com.example.events_planner.entity.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Principal stored in the security context after login. Carries the user id and roles so request
+ * handling never has to go back to the users table to find out who is calling.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private final UUID id;
+    private final String username;
+    private String password;
+    private final boolean enabled;
+    private final boolean accountNonLocked;
+    private final Set<String> roles;
+
+    public AuthenticatedUser(UUID id, String username, String password, boolean enabled,
+                             boolean accountNonLocked, Set<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.accountNonLocked = accountNonLocked;
+        this.roles = Set.copyOf(roles);
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(),
+                user.isEnabled(), user.isAccountNonLocked(), user.getAuthorities());
+    }
+
+    public AuthenticatedUser withoutCredentials() {
+        return new AuthenticatedUser(id, username, null, enabled, accountNonLocked, roles);
+    }
+
+    public UUID getId() { return id; }
+
+    public Set<String> getRoles() { return roles; }
+
+    public boolean isAdmin() { return roles.contains(ROLE_ADMIN); }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public boolean isEnabled() { return enabled; }
+
+    @Override
+    public boolean isAccountNonLocked() { return accountNonLocked; }
+
+    @Override
+    public void eraseCredentials() { password = null; }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AuthenticatedUser other && username.equals(other.username);
+    }
+
+    @Override
+    public int hashCode() { return username.hashCode(); }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + ", roles=" + roles + "]";
+    }
+}
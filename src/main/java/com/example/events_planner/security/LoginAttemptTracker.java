@@ -0,0 +1,41 @@
+package com.example.events_planner.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory failed-login counters that sit in front of the users table. Once a username reaches the
+ * lockout threshold, further attempts are refused here without hashing or touching the database.
+ * Only existing accounts should be recorded, so guessing random usernames cannot push real counters
+ * out of the bounded map. Each failure restarts the block window, and updates lock only their own key.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    public static final int MAX_FAILED_ATTEMPTS = 5;
+
+    private static final int MAXIMUM_SIZE = 100_000;
+    private static final Duration BLOCK_DURATION = Duration.ofMinutes(15);
+
+    private final Cache<String, Integer> failures = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(BLOCK_DURATION)
+            .build();
+
+    public boolean isBlocked(String username) {
+        Integer count = failures.getIfPresent(username);
+        return count != null && count >= MAX_FAILED_ATTEMPTS;
+    }
+
+    public void recordFailure(String username) {
+        // A write, unlike incrementing a cached counter, so the entry's expiry restarts with every failure.
+        failures.asMap().merge(username, 1, Integer::sum);
+    }
+
+    public void reset(String username) {
+        failures.invalidate(username);
+    }
+}
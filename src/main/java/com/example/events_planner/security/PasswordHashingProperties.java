@@ -0,0 +1,17 @@
+package com.example.events_planner.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sizing for the password hashing stage. A thread count of {@code 0} means one thread per available core.
+ */
+@ConfigurationProperties("app.security.password-hashing")
+public record PasswordHashingProperties(
+    @DefaultValue("0") int threads,
+    @DefaultValue("64") int queueCapacity
+) {
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.events_planner.security;
+
+import com.example.events_planner.cache.CommitEvictions;
+import com.example.events_planner.cluster.ClusterChanges;
+import com.example.events_planner.cluster.EntityChange;
+import com.example.events_planner.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded username to principal cache, consulted on every request rather than trusting the principal
+ * stored in the session. Entries never hold credentials; writes to a user must evict it so role or
+ * username changes are picked up on the next request.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private final UserRepository userRepository;
+    // Lets eviction by id find the entry without scanning; entries leave it together with the cache's.
+    private final ConcurrentMap<UUID, String> usernames = new ConcurrentHashMap<>();
+    private final Cache<String, AuthenticatedUser> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(TIME_TO_LIVE)
+            .<String, AuthenticatedUser>evictionListener((username, principal, cause) -> {
+                if (principal != null) {
+                    usernames.remove(principal.getId(), username);
+                }
+            })
+            .build();
+
+    public PrincipalCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Optional<AuthenticatedUser> find(String username) {
+        return Optional.ofNullable(cache.get(username, key -> userRepository.findByUsername(key)
+                .map(user -> index(AuthenticatedUser.from(user).withoutCredentials()))
+                .orElse(null)));
+    }
+
+    public void put(AuthenticatedUser principal) {
+        cache.put(principal.getUsername(), index(principal.withoutCredentials()));
+    }
+
+    public void evict(UUID userId) {
+        CommitEvictions.evictNowAndAfterCommit(() -> evictNow(userId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        usernames.clear();
+    }
+
+    @EventListener
+    public void onClusterChanges(ClusterChanges changes) {
+        if (changes.resync()) {
+            invalidateAll();
+            return;
+        }
+        for (EntityChange change : changes.changes()) {
+            if (change.kind() == EntityChange.Kind.USER) {
+                evictNow(change.id());
+            }
+        }
+    }
+
+    private void evictNow(UUID userId) {
+        String username = usernames.remove(userId);
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    private AuthenticatedUser index(AuthenticatedUser principal) {
+        usernames.put(principal.getId(), principal.getUsername());
+        return principal;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.events_planner.service;
+
+import com.example.events_planner.dto.CalendarEntryDTO;
+import com.example.events_planner.dto.CalendarFeedTokenDTO;
+import com.example.events_planner.repository.CalendarRepository;
+import com.example.events_planner.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Transactional(readOnly = true)
+public class CalendarService {
+
+    private static final Duration MAX_WINDOW = Duration.ofDays(366);
+    private static final int TOKEN_BYTES = 32;
+
+    private final CalendarRepository calendarRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public CalendarService(CalendarRepository calendarRepository, UserRepository userRepository, UserService userService) {
+        this.calendarRepository = calendarRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+    }
+
+    /**
+     * Events the current user organizes or attends and tasks assigned to them, falling in {@code [from, to)}.
+     */
+    public List<CalendarEntryDTO> getCalendar(OffsetDateTime from, OffsetDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("Calendar window cannot exceed " + MAX_WINDOW.toDays() + " days");
+        }
+        return calendarRepository.findEntries(userService.getCurrentUser().getId(), from, to);
+    }
+
+    /**
+     * Issues a new feed token for the current user, invalidating the previous one.
+     */
+    @Transactional
+    public CalendarFeedTokenDTO rotateFeedToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        userRepository.updateCalendarTokenHash(userService.getCurrentUser().getId(), hash(token));
+        return new CalendarFeedTokenDTO(token, "/api/calendar/" + token + ".ics");
+    }
+
+    public Optional<UUID> findFeedOwner(String token) {
+        return userRepository.findIdByCalendarTokenHash(hash(token));
+    }
+
+    public CalendarRepository.FeedVersion getFeedVersion(UUID userId) {
+        return calendarRepository.findFeedVersion(userId);
+    }
+
+    // Both queries read through cursors inside this transaction, so the feed is written entry by entry.
+    public void writeFeed(UUID userId, Writer out) {
+        IcsWriter ics = new IcsWriter(out);
+        ics.begin("Events Planner");
+        calendarRepository.streamFeedEvents(userId, rs -> ics.event(
+                rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("description"),
+                rs.getObject("date", OffsetDateTime.class), rs.getString("location"),
+                rs.getObject("updated_at", OffsetDateTime.class)));
+        calendarRepository.streamFeedTasks(userId, rs -> ics.todo(
+                rs.getObject("id", UUID.class), rs.getString("description"), rs.getBoolean("completed"),
+                rs.getObject("due_date", OffsetDateTime.class), rs.getObject("event_id", UUID.class),
+                rs.getObject("updated_at", OffsetDateTime.class)));
+        ics.end();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.events_planner.service;
+
+import java.util.UUID;
+
+/**
+ * Compact notification that something on an event changed. Published by the write paths and pushed to the
+ * event's stream subscribers by {@link EventStreamHub} only after the transaction commits; clients refetch
+ * whatever they need. {@code subjectId} names the task or user involved, or is {@code null} for bulk writes.
+ */
+public record EventChange(
+    UUID eventId,
+    Type type,
+    UUID subjectId
+) {
+    public enum Type {
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_TOGGLED,
+        TASK_DELETED,
+        TASKS_CHANGED,
+        MEMBERS_CHANGED,
+        ORGANIZERS_CHANGED
+    }
+}
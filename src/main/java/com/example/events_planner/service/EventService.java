@@ -1,24 +1,43 @@
 package com.example.events_planner.service;
 
+import com.example.events_planner.cluster.EntityChange;
+import com.example.events_planner.dto.EventCursor;
 import com.example.events_planner.dto.EventDetailDTO;
+import com.example.events_planner.dto.EventDistanceDTO;
+import com.example.events_planner.dto.EventDistancePageDTO;
+import com.example.events_planner.dto.EventNearbyCursor;
+import com.example.events_planner.dto.EventPageDTO;
 import com.example.events_planner.dto.EventRequestDTO;
+import com.example.events_planner.dto.EventSearchCursor;
 import com.example.events_planner.dto.EventSummaryDTO;
+import com.example.events_planner.dto.MembershipBulkRequestDTO;
+import com.example.events_planner.dto.MembershipBulkResultDTO;
 import com.example.events_planner.dto.UserSummaryDTO;
 import com.example.events_planner.entity.Address;
 import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Geo;
 import com.example.events_planner.entity.Task;
 import com.example.events_planner.entity.User;
+import com.example.events_planner.exception.PreconditionFailedException;
 import com.example.events_planner.exception.ResourceNotFoundException;
 import com.example.events_planner.mapper.EventMapper;
 import com.example.events_planner.mapper.UserMapper;
+import com.example.events_planner.repository.EntityVersion;
+import com.example.events_planner.repository.EventQueries;
 import com.example.events_planner.repository.EventRepository;
 import com.example.events_planner.repository.TaskRepository;
 import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -31,63 +50,130 @@ public class EventService {
 
     private static final Logger log = LoggerFactory.getLogger(EventService.class);
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final double MAX_RADIUS_KM = 100;
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final EventMapper eventMapper;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EventService(EventRepository eventRepository, UserRepository userRepository, 
                         TaskRepository taskRepository, UserService userService, 
-                        EventMapper eventMapper, UserMapper userMapper) {
+                        EventMapper eventMapper, UserMapper userMapper,
+                        ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
         this.userService = userService;
         this.eventMapper = eventMapper;
         this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public EventPageDTO getAllEvents(String cursor, OffsetDateTime from, OffsetDateTime to,
+                                     Sort.Direction direction, int limit) {
+        AuthenticatedUser currentUser = userService.getCurrentUser();
+        log.debug("Fetching events page for user: {}", currentUser.getUsername());
+
+        UUID visibleTo = currentUser.isAdmin() ? null : currentUser.getId();
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        // One extra row tells us whether another page exists without a separate count.
+        List<EventSummaryDTO> rows = eventRepository.findSummaries(visibleTo, from, to, after, direction, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new EventPageDTO(rows, null);
+        }
+        List<EventSummaryDTO> items = rows.subList(0, pageSize);
+        EventSummaryDTO last = items.getLast();
+        return new EventPageDTO(List.copyOf(items), new EventCursor(last.date(), last.id()).encode());
     }
 
-    public List<EventSummaryDTO> getAllEvents() {
-        User currentUser = userService.getCurrentUser();
-        log.debug("Fetching all events for user: {}", currentUser.getUsername());
-        List<Event> events;
-        if (currentUser.getAuthorities().contains("ROLE_ADMIN")) {
-            events = eventRepository.findAll();
-        } else {
-            events = eventRepository.findByOrganizerOrMember(currentUser.getId());
+    @Transactional(readOnly = true)
+    public EventPageDTO searchEvents(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        AuthenticatedUser currentUser = userService.getCurrentUser();
+        UUID visibleTo = currentUser.isAdmin() ? null : currentUser.getId();
+        EventSearchCursor after = cursor == null || cursor.isBlank() ? null : EventSearchCursor.decode(cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        List<EventQueries.RankedSummary> rows = eventRepository.search(query, visibleTo, after, pageSize + 1);
+        List<EventSummaryDTO> items = rows.stream().limit(pageSize).map(EventQueries.RankedSummary::summary).toList();
+        if (rows.size() <= pageSize) {
+            return new EventPageDTO(items, null);
         }
-        
-        return events.stream()
-                .map(eventMapper::toSummaryDTO)
-                .toList();
+        EventQueries.RankedSummary last = rows.get(pageSize - 1);
+        return new EventPageDTO(items, new EventSearchCursor(last.rank(), last.summary().id()).encode());
     }
 
+    @Transactional(readOnly = true)
+    public EventDistancePageDTO findNearbyEvents(double latitude, double longitude, double radiusKm,
+                                                 String cursor, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (int) MAX_RADIUS_KM + " km");
+        }
+        AuthenticatedUser currentUser = userService.getCurrentUser();
+        UUID visibleTo = currentUser.isAdmin() ? null : currentUser.getId();
+        EventNearbyCursor after = cursor == null || cursor.isBlank() ? null : EventNearbyCursor.decode(cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        List<EventDistanceDTO> rows = eventRepository.findNearby(latitude, longitude, radiusKm, visibleTo, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new EventDistancePageDTO(rows, null);
+        }
+        List<EventDistanceDTO> items = List.copyOf(rows.subList(0, pageSize));
+        EventDistanceDTO last = items.getLast();
+        return new EventDistancePageDTO(items, new EventNearbyCursor(last.distanceKm(), last.event().id()).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EntityVersion> getEventVersion(UUID id) {
+        return eventRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<EventDetailDTO> getEventById(UUID id) {
-        return eventRepository.findById(id).map(eventMapper::toDetailDTO);
+        return eventRepository.findDetailById(id).map(eventMapper::toDetailDTO);
     }
 
     public EventDetailDTO createEvent(EventRequestDTO request) {
         log.info("Creating new event with title: {}", request.title());
         Event event = new Event();
         updateEventFields(event, request);
-        return eventMapper.toDetailDTO(eventRepository.save(event));
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(StatisticsDelta.events(1));
+        return eventMapper.toDetailDTO(saved);
     }
 
-    public EventDetailDTO updateEvent(UUID id, EventRequestDTO request) {
+    public EventDetailDTO updateEvent(UUID id, EventRequestDTO request, Long expectedVersion) {
         log.info("Updating event with id: {}", id);
-        Event event = eventRepository.findById(id)
+        Event event = eventRepository.findDetailById(id)
                 .orElseThrow(() -> {
                     log.error("Event update failed: Event not found with id {}", id);
                     return new ResourceNotFoundException("Event not found with id " + id);
                 });
+        if (expectedVersion != null && expectedVersion != event.getVersion()) {
+            throw new PreconditionFailedException("Event " + id + " has been modified since version " + expectedVersion);
+        }
 
         if (request.date() != null) {
             validateEventDate(id, request.date());
         }
 
         updateEventFields(event, request);
+        // Marks the event dirty even when only its address changed, so the version still moves.
+        event.setUpdatedAt(OffsetDateTime.now());
+        eventPublisher.publishEvent(EntityChange.event(id));
         return eventMapper.toDetailDTO(eventRepository.save(event));
     }
 
@@ -115,10 +201,14 @@ public class EventService {
             address.setZipCode(request.zipCode());
             address.setCountry(request.country());
             address.setLocationName(request.locationName());
+            address.setGeo(request.latitude() != null && request.longitude() != null
+                    ? new Geo(request.latitude(), request.longitude())
+                    : null);
             event.setAddress(address);
         }
     }
 
+    @Transactional(readOnly = true)
     public Set<UserSummaryDTO> getMembers(UUID eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + eventId));
@@ -127,6 +217,7 @@ public class EventService {
                 .collect(Collectors.toSet());
     }
 
+    @Transactional(readOnly = true)
     public Set<UserSummaryDTO> getOrganizers(UUID eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + eventId));
@@ -136,42 +227,122 @@ public class EventService {
     }
 
     public void deleteEvent(UUID id) {
-        eventRepository.deleteById(id);
+        eventRepository.findById(id).ifPresent(event -> {
+            long tasks = taskRepository.countByEventId(id);
+            long completed = taskRepository.countByEventIdAndCompletedTrue(id);
+            List<UUID> organizerIds = eventRepository.findOrganizerIds(id);
+            lockOrganizerCounts(organizerIds);
+            long before = countOrganizingUsers(organizerIds);
+            eventRepository.delete(event);
+            eventRepository.flush();
+            long organizers = countOrganizingUsers(organizerIds) - before;
+            eventPublisher.publishEvent(new StatisticsDelta(0, -1, -tasks, -completed, organizers));
+            eventPublisher.publishEvent(EntityChange.event(id));
+        });
     }
 
-    public EventDetailDTO addMember(UUID eventId, UUID userId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + eventId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
-        event.getMembers().add(user);
-        return eventMapper.toDetailDTO(eventRepository.save(event));
+    public void addMember(UUID eventId, UUID userId) {
+        if (eventRepository.insertMembers(eventId, List.of(userId)) == 0) {
+            requireEventAndUser(eventId, userId);
+            return;
+        }
+        touch(eventId, EventChange.Type.MEMBERS_CHANGED, userId);
     }
 
-    public EventDetailDTO removeMember(UUID eventId, UUID userId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + eventId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
-        event.getMembers().remove(user);
-        return eventMapper.toDetailDTO(eventRepository.save(event));
+    public void removeMember(UUID eventId, UUID userId) {
+        if (eventRepository.deleteMembers(eventId, List.of(userId)) == 0) {
+            requireEventAndUser(eventId, userId);
+            return;
+        }
+        touch(eventId, EventChange.Type.MEMBERS_CHANGED, userId);
     }
 
-    public EventDetailDTO addOrganizer(UUID eventId, UUID userId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + eventId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
-        event.getOrganizers().add(user);
-        return eventMapper.toDetailDTO(eventRepository.save(event));
+    public void addOrganizer(UUID eventId, UUID userId) {
+        if (eventRepository.insertOrganizers(eventId, List.of(userId)) == 0) {
+            requireEventAndUser(eventId, userId);
+            return;
+        }
+        touch(eventId, EventChange.Type.ORGANIZERS_CHANGED, userId);
+        lockOrganizerCounts(List.of(userId));
+        if (eventRepository.countEventsOrganizedBy(userId) == 1) {
+            eventPublisher.publishEvent(StatisticsDelta.organizers(1));
+        }
     }
 
-    public EventDetailDTO removeOrganizer(UUID eventId, UUID userId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id " + eventId));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
-        event.getOrganizers().remove(user);
-        return eventMapper.toDetailDTO(eventRepository.save(event));
+    public void removeOrganizer(UUID eventId, UUID userId) {
+        if (eventRepository.deleteOrganizers(eventId, List.of(userId)) == 0) {
+            requireEventAndUser(eventId, userId);
+            return;
+        }
+        touch(eventId, EventChange.Type.ORGANIZERS_CHANGED, userId);
+        lockOrganizerCounts(List.of(userId));
+        if (eventRepository.countEventsOrganizedBy(userId) == 0) {
+            eventPublisher.publishEvent(StatisticsDelta.organizers(-1));
+        }
+    }
+
+    public MembershipBulkResultDTO updateMembers(UUID eventId, MembershipBulkRequestDTO request) {
+        requireEvent(eventId);
+        log.info("Bulk updating members of event {}", eventId);
+        int added = isEmpty(request.add()) ? 0 : eventRepository.insertMembers(eventId, request.add());
+        int removed = isEmpty(request.remove()) ? 0 : eventRepository.deleteMembers(eventId, request.remove());
+        if (added + removed > 0) {
+            touch(eventId, EventChange.Type.MEMBERS_CHANGED, null);
+        }
+        return new MembershipBulkResultDTO(added, removed);
+    }
+
+    public MembershipBulkResultDTO updateOrganizers(UUID eventId, MembershipBulkRequestDTO request) {
+        requireEvent(eventId);
+        log.info("Bulk updating organizers of event {}", eventId);
+        Set<UUID> touched = new HashSet<>();
+        if (!isEmpty(request.add())) touched.addAll(request.add());
+        if (!isEmpty(request.remove())) touched.addAll(request.remove());
+        lockOrganizerCounts(touched);
+        long before = countOrganizingUsers(touched);
+        int added = isEmpty(request.add()) ? 0 : eventRepository.insertOrganizers(eventId, request.add());
+        int removed = isEmpty(request.remove()) ? 0 : eventRepository.deleteOrganizers(eventId, request.remove());
+        if (added + removed > 0) {
+            touch(eventId, EventChange.Type.ORGANIZERS_CHANGED, null);
+        }
+        long delta = countOrganizingUsers(touched) - before;
+        if (delta != 0) {
+            eventPublisher.publishEvent(StatisticsDelta.organizers(delta));
+        }
+        return new MembershipBulkResultDTO(added, removed);
+    }
+
+    // Only reached when a membership write touched no rows, to tell a no-op apart from an unknown id.
+    private void requireEventAndUser(UUID eventId, UUID userId) {
+        requireEvent(eventId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+    }
+
+    private void touch(UUID eventId, EventChange.Type type, UUID userId) {
+        eventRepository.touch(List.of(eventId), OffsetDateTime.now());
+        eventPublisher.publishEvent(new EventChange(eventId, type, userId));
+    }
+
+    private void requireEvent(UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id " + eventId);
+        }
+    }
+
+    private long countOrganizingUsers(Collection<UUID> userIds) {
+        return userIds.isEmpty() ? 0 : eventRepository.countOrganizingUsers(userIds);
+    }
+
+    // Held until commit, so the organizer counts that decide a StatisticsDelta see every earlier write settled.
+    private void lockOrganizerCounts(Collection<UUID> userIds) {
+        if (!userIds.isEmpty()) {
+            eventRepository.lockOrganizerCounts(userIds);
+        }
+    }
+
+    private static boolean isEmpty(Set<UUID> ids) {
+        return ids == null || ids.isEmpty();
     }
 }
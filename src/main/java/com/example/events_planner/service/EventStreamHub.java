@@ -0,0 +1,172 @@
+package com.example.events_planner.service;
+
+import com.example.events_planner.cluster.ClusterChanges;
+import com.example.events_planner.cluster.EntityChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of {@link EventChange}s to server-sent event streams. Each subscriber gets a bounded
+ * queue drained by its own virtual thread, so an idle stream costs a parked thread rather than a carrier, and
+ * publishing never waits on a client socket. A subscriber whose queue is full is dropped; its client reconnects
+ * and refetches. When changes from other nodes may have been missed, every stream is sent a {@code resync}
+ * event and ended, so clients reconnect and refetch as well.
+ */
+public class EventStreamHub implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStreamHub.class);
+
+    public static final String CHANGE_EVENT_NAME = "change";
+    public static final String RESYNC_EVENT_NAME = "resync";
+
+    // Queued behind the changes already pending, so a subscriber sends those before it ends the stream.
+    private static final EventChange RESYNC = new EventChange(null, null, null);
+
+    private final EventStreamProperties properties;
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadFactory threads = Thread.ofVirtual().name("event-stream-", 0).factory();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter dropped;
+
+    public EventStreamHub(EventStreamProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        Gauge.builder("events.stream.subscribers", open, AtomicInteger::get)
+                .description("Open event change streams")
+                .register(registry);
+        this.dropped = Counter.builder("events.stream.dropped")
+                .description("Streams disconnected because they fell behind")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(UUID eventId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(eventId, emitter, new ArrayBlockingQueue<>(properties.queueCapacity()));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscriber.thread = threads.newThread(subscriber);
+        open.incrementAndGet();
+        subscribers.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.thread.start();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publish(EventChange change) {
+        Set<Subscriber> listeners = subscribers.get(change.eventId());
+        if (listeners != null) {
+            listeners.forEach(subscriber -> offer(subscriber, change));
+        }
+    }
+
+    /**
+     * Replays changes committed on other nodes to the streams held here.
+     */
+    @EventListener
+    public void onClusterChanges(ClusterChanges changes) {
+        if (changes.resync()) {
+            subscribers.values().forEach(listeners -> listeners.forEach(subscriber -> offer(subscriber, RESYNC)));
+            return;
+        }
+        for (EntityChange change : changes.changes()) {
+            EventChange eventChange = change.toEventChange();
+            if (eventChange != null) {
+                publish(eventChange);
+            }
+        }
+    }
+
+    public int subscriberCount(UUID eventId) {
+        Set<Subscriber> listeners = subscribers.get(eventId);
+        return listeners == null ? 0 : listeners.size();
+    }
+
+    private void offer(Subscriber subscriber, EventChange change) {
+        if (!subscriber.queue.offer(change)) {
+            log.debug("Dropping slow subscriber on event {}", subscriber.eventId);
+            dropped.increment();
+            remove(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        open.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.eventId, (id, listeners) -> {
+            listeners.remove(subscriber);
+            return listeners.isEmpty() ? null : listeners;
+        });
+        subscriber.queue.clear();
+        // The sender completes the emitter on its way out; doing it here could block on a stalled write.
+        subscriber.thread.interrupt();
+    }
+
+    @Override
+    public void close() {
+        subscribers.values().forEach(listeners -> listeners.forEach(this::remove));
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final UUID eventId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<EventChange> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Thread thread;
+
+        private Subscriber(UUID eventId, SseEmitter emitter, BlockingQueue<EventChange> queue) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            long heartbeatMillis = properties.heartbeat().toMillis();
+            try {
+                // Commits the response so the client sees the stream open before the first change.
+                emitter.send(SseEmitter.event().comment("subscribed"));
+                while (!closed.get()) {
+                    EventChange change = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (change == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (change == RESYNC) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data(""));
+                        return;
+                    } else {
+                        emitter.send(SseEmitter.event().name(CHANGE_EVENT_NAME).data(change, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Removed from the hub: dropped, timed out or shutting down.
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter was already completed.
+            } finally {
+                remove(this);
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.events_planner.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing for the event change streams. A subscriber whose buffer fills up is disconnected rather than
+ * allowed to hold back the others; {@code timeout} bounds a single connection, after which clients reconnect.
+ */
+@ConfigurationProperties("app.events.stream")
+public record EventStreamProperties(
+    @DefaultValue("64") int queueCapacity,
+    @DefaultValue("15s") Duration heartbeat,
+    @DefaultValue("30m") Duration timeout
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.events_planner.service;
+
+import java.util.Locale;
+
+public enum ExportDataset {
+    USERS,
+    EVENTS,
+    TASKS;
+
+    public static ExportDataset fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export dataset: " + name);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.events_planner.service;
+
+import com.example.events_planner.repository.ExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+
+/**
+ * Writes whole tables row by row, so memory use does not grow with the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // The transaction keeps autocommit off, which the driver needs to honour the fetch size.
+    @Transactional(readOnly = true)
+    public long export(ExportDataset dataset, ExportFormat format, Writer out) {
+        ResultSetExtractor<Long> writer = switch (format) {
+            case NDJSON -> rs -> writeNdjson(rs, out);
+            case CSV -> rs -> writeCsv(rs, out);
+        };
+        long rows = switch (dataset) {
+            case USERS -> exportRepository.streamUsers(writer);
+            case EVENTS -> exportRepository.streamEvents(writer);
+            case TASKS -> exportRepository.streamTasks(writer);
+        };
+        log.info("Exported {} {} rows as {}", rows, dataset, format);
+        return rows;
+    }
+
+    private long writeNdjson(ResultSet rs, Writer out) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        long rows = 0;
+        // Closing the generator flushes it; the response writer stays open for the caller.
+        try (JsonGenerator generator = objectMapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .createGenerator(out)) {
+            while (rs.next()) {
+                generator.writeStartObject();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    generator.writeName(meta.getColumnLabel(i));
+                    writeJsonValue(generator, rs, i, meta.getColumnType(i));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void writeJsonValue(JsonGenerator generator, ResultSet rs, int column, int type) throws SQLException {
+        if (rs.getObject(column) == null) {
+            generator.writeNull();
+            return;
+        }
+        switch (type) {
+            case Types.BOOLEAN, Types.BIT -> generator.writeBoolean(rs.getBoolean(column));
+            case Types.INTEGER, Types.BIGINT, Types.SMALLINT -> generator.writeNumber(rs.getLong(column));
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> generator.writeNumber(rs.getDouble(column));
+            case Types.ARRAY -> {
+                generator.writeStartArray();
+                for (Object element : elements(rs.getArray(column))) {
+                    generator.writeString(String.valueOf(element));
+                }
+                generator.writeEndArray();
+            }
+            default -> generator.writeString(text(rs, column, type));
+        }
+    }
+
+    private static long writeCsv(ResultSet rs, Writer out) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        try {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) out.write(',');
+                out.write(csvField(meta.getColumnLabel(i)));
+            }
+            out.write("\r\n");
+            long rows = 0;
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    if (i > 1) out.write(',');
+                    out.write(csvField(csvValue(rs, i, meta.getColumnType(i))));
+                }
+                out.write("\r\n");
+                rows++;
+            }
+            out.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvValue(ResultSet rs, int column, int type) throws SQLException {
+        if (rs.getObject(column) == null) {
+            return "";
+        }
+        if (type == Types.ARRAY) {
+            StringBuilder joined = new StringBuilder();
+            for (Object element : elements(rs.getArray(column))) {
+                if (!joined.isEmpty()) joined.append(' ');
+                joined.append(element);
+            }
+            return joined.toString();
+        }
+        return text(rs, column, type);
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String text(ResultSet rs, int column, int type) throws SQLException {
+        if (type == Types.BOOLEAN || type == Types.BIT) {
+            return String.valueOf(rs.getBoolean(column));
+        }
+        if (type == Types.TIMESTAMP || type == Types.TIMESTAMP_WITH_TIMEZONE) {
+            return rs.getObject(column, OffsetDateTime.class).toString();
+        }
+        return rs.getString(column);
+    }
+
+    private static Object[] elements(Array array) throws SQLException {
+        try {
+            return (Object[]) array.getArray();
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.events_planner.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Minimal RFC 5545 writer that emits components as they are produced, with CRLF line ends,
+ * text escaping and folding of lines longer than 75 octets.
+ */
+class IcsWriter {
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String UID_DOMAIN = "@events-planner";
+
+    private final Writer out;
+
+    IcsWriter(Writer out) {
+        this.out = out;
+    }
+
+    void begin(String name) {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//events-planner//calendar feed//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(name));
+    }
+
+    void event(UUID id, String title, String description, OffsetDateTime start, String location, OffsetDateTime stamp) {
+        line("BEGIN:VEVENT");
+        line("UID:" + id + UID_DOMAIN);
+        line("DTSTAMP:" + format(stamp));
+        line("DTSTART:" + format(start));
+        line("SUMMARY:" + escape(title));
+        if (description != null && !description.isBlank()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        if (location != null && !location.isBlank()) {
+            line("LOCATION:" + escape(location));
+        }
+        line("END:VEVENT");
+    }
+
+    void todo(UUID id, String summary, boolean completed, OffsetDateTime due, UUID eventId, OffsetDateTime stamp) {
+        line("BEGIN:VTODO");
+        line("UID:" + id + UID_DOMAIN);
+        line("DTSTAMP:" + format(stamp));
+        if (due != null) {
+            line("DUE:" + format(due));
+        }
+        line("SUMMARY:" + escape(summary));
+        line("STATUS:" + (completed ? "COMPLETED" : "NEEDS-ACTION"));
+        if (eventId != null) {
+            line("RELATED-TO:" + eventId + UID_DOMAIN);
+        }
+        line("END:VTODO");
+    }
+
+    void end() {
+        line("END:VCALENDAR");
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void line(String content) {
+        try {
+            int octets = 0;
+            for (int i = 0; i < content.length(); ) {
+                int codePoint = content.codePointAt(i);
+                int length = utf8Length(codePoint);
+                if (octets + length > MAX_LINE_OCTETS) {
+                    out.write("\r\n ");
+                    octets = 1;
+                }
+                out.write(Character.toChars(codePoint));
+                octets += length;
+                i += Character.charCount(codePoint);
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) return 1;
+        if (codePoint < 0x800) return 2;
+        if (codePoint < 0x10000) return 3;
+        return 4;
+    }
+
+    private static String format(OffsetDateTime dateTime) {
+        return UTC_DATE_TIME.format(dateTime.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.events_planner.service;
+
+/**
+ * Change to the admin counters caused by one transaction. Published by the write paths and
+ * applied by {@link StatisticsService} only after the transaction commits.
+ */
+public record StatisticsDelta(
+    long users,
+    long events,
+    long tasks,
+    long completedTasks,
+    long organizers
+) {
+    public static StatisticsDelta users(long delta) {
+        return new StatisticsDelta(delta, 0, 0, 0, 0);
+    }
+
+    public static StatisticsDelta events(long delta) {
+        return new StatisticsDelta(0, delta, 0, 0, 0);
+    }
+
+    public static StatisticsDelta tasks(long tasks, long completedTasks) {
+        return new StatisticsDelta(0, 0, tasks, completedTasks, 0);
+    }
+
+    public static StatisticsDelta organizers(long delta) {
+        return new StatisticsDelta(0, 0, 0, 0, delta);
+    }
+}
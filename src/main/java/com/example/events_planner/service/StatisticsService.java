@@ -4,34 +4,93 @@ import com.example.events_planner.repository.EventRepository;
 import com.example.events_planner.repository.TaskRepository;
 import com.example.events_planner.repository.UserRepository;
 import com.example.events_planner.dto.AdminStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Serves the admin dashboard from in-memory counters. Write paths publish {@link StatisticsDelta}s
+ * that are applied after commit, and a scheduled recount corrects any drift from writes that bypass
+ * the services (SQL consoles, other nodes, deltas racing a recount).
+ */
 @Service
-@Transactional(readOnly = true)
 public class StatisticsService {
 
+    private static final Logger log = LoggerFactory.getLogger(StatisticsService.class);
+
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final TaskRepository taskRepository;
 
+    private long totalUsers;
+    private long totalEvents;
+    private long totalTasks;
+    private long completedTasks;
+    private long activeOrganizers;
+    private OffsetDateTime reconciledAt;
+
     public StatisticsService(UserRepository userRepository, EventRepository eventRepository, TaskRepository taskRepository) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.taskRepository = taskRepository;
     }
 
-    public AdminStatsDTO getAdminStats() {
-        long totalUsers = userRepository.count();
-        long totalEvents = eventRepository.count();
-        long totalTasks = taskRepository.count();
-        long completedTasks = taskRepository.countByCompletedTrue();
-        
-        double taskCompletionRate = totalTasks > 0 
-            ? (double) completedTasks / totalTasks 
+    public synchronized AdminStatsDTO getAdminStats() {
+        return snapshot();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void apply(StatisticsDelta delta) {
+        totalUsers += delta.users();
+        totalEvents += delta.events();
+        totalTasks += delta.tasks();
+        completedTasks += delta.completedTasks();
+        activeOrganizers += delta.organizers();
+    }
+
+    /**
+     * Runs the counts in one read-only transaction, so they come from a single snapshot, on a replica when one
+     * is configured. Replica lag can only make a recount briefly stale; the next one catches up. The first
+     * recount runs once the application is ready, through the proxy like the scheduled ones, so the counters
+     * are filled before the dashboard is served.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long users = userRepository.count();
+        long events = eventRepository.count();
+        long tasks = taskRepository.count();
+        long completed = taskRepository.countByCompletedTrue();
+        long organizers = eventRepository.countDistinctOrganizers();
+
+        synchronized (this) {
+            if (reconciledAt != null && (users != totalUsers || events != totalEvents || tasks != totalTasks
+                    || completed != completedTasks || organizers != activeOrganizers)) {
+                log.info("Statistics drifted since {}, correcting counters", reconciledAt);
+            }
+            totalUsers = users;
+            totalEvents = events;
+            totalTasks = tasks;
+            completedTasks = completed;
+            activeOrganizers = organizers;
+            reconciledAt = OffsetDateTime.now();
+        }
+    }
+
+    private AdminStatsDTO snapshot() {
+        double taskCompletionRate = totalTasks > 0
+            ? (double) completedTasks / totalTasks
             : 0.0;
-            
-        long activeOrganizers = eventRepository.countDistinctOrganizers();
 
         return new AdminStatsDTO(
             totalUsers,
@@ -39,7 +98,9 @@ public class StatisticsService {
             totalTasks,
             completedTasks,
             taskCompletionRate,
-            activeOrganizers
+            activeOrganizers,
+            reconciledAt,
+            Duration.between(reconciledAt, OffsetDateTime.now()).toSeconds()
         );
     }
 }
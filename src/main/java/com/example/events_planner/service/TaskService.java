@@ -1,24 +1,41 @@
 package com.example.events_planner.service;
 
+import com.example.events_planner.cluster.EntityChange;
+import com.example.events_planner.dto.TaskBulkUpdateRequestDTO;
 import com.example.events_planner.dto.TaskDetailDTO;
 import com.example.events_planner.dto.TaskRequestDTO;
 import com.example.events_planner.dto.TaskSummaryDTO;
 import com.example.events_planner.entity.Event;
 import com.example.events_planner.entity.Task;
 import com.example.events_planner.entity.User;
+import com.example.events_planner.exception.PreconditionFailedException;
 import com.example.events_planner.exception.ResourceNotFoundException;
 import com.example.events_planner.mapper.TaskMapper;
+import com.example.events_planner.repository.EntityVersion;
 import com.example.events_planner.repository.EventRepository;
+import com.example.events_planner.repository.TaskQueries.VersionedTask;
 import com.example.events_planner.repository.TaskRepository;
 import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -31,19 +48,23 @@ public class TaskService {
     private final UserRepository userRepository;
     private final UserService userService;
     private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, EventRepository eventRepository, UserRepository userRepository, UserService userService, TaskMapper taskMapper) {
+    public TaskService(TaskRepository taskRepository, EventRepository eventRepository, UserRepository userRepository,
+                       UserService userService, TaskMapper taskMapper, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.userService = userService;
         this.taskMapper = taskMapper;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<TaskSummaryDTO> getAllTasks() {
-        User currentUser = userService.getCurrentUser();
+        AuthenticatedUser currentUser = userService.getCurrentUser();
         List<Task> tasks;
-        if (currentUser.getAuthorities().contains("ROLE_ADMIN")) {
+        if (currentUser.isAdmin()) {
             tasks = taskRepository.findAll();
         } else {
             tasks = taskRepository.findByAssignedToId(currentUser.getId());
@@ -54,12 +75,19 @@ public class TaskService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<TaskSummaryDTO> getTasksByEventId(UUID eventId) {
         return taskRepository.findByEventId(eventId).stream()
                 .map(taskMapper::toSummaryDTO)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public Optional<EntityVersion> getTaskVersion(UUID id) {
+        return taskRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<TaskDetailDTO> getTaskById(UUID id) {
         return taskRepository.findById(id).map(taskMapper::toDetailDTO);
     }
@@ -85,7 +113,12 @@ public class TaskService {
             task.setAssignedTo(user);
         }
 
-        return taskMapper.toDetailDTO(taskRepository.save(task));
+        Task saved = taskRepository.save(task);
+        touchEvents(List.of(saved));
+        eventPublisher.publishEvent(StatisticsDelta.tasks(1, saved.isCompleted() ? 1 : 0));
+        publishChanges(eventIds(List.of(saved)), EventChange.Type.TASK_CREATED, saved.getId());
+        publishTaskChanges(List.of(saved.getId()));
+        return taskMapper.toDetailDTO(saved);
     }
 
     private void validateTaskDueDate(Task task, Event event) {
@@ -94,9 +127,12 @@ public class TaskService {
         }
     }
 
-    public TaskDetailDTO updateTask(UUID id, TaskRequestDTO request) {
+    public TaskDetailDTO updateTask(UUID id, TaskRequestDTO request, Long expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+        requireVersion(expectedVersion, task.getVersion(), id);
+        boolean wasCompleted = task.isCompleted();
+        Set<UUID> eventIds = eventIds(List.of(task));
 
         task.setDescription(request.description());
         if (request.completed() != null) {
@@ -122,17 +158,247 @@ public class TaskService {
             task.setAssignedTo(null);
         }
 
-        return taskMapper.toDetailDTO(taskRepository.save(task));
+        Task saved = taskRepository.save(task);
+        eventIds.addAll(eventIds(List.of(saved)));
+        touchEvents(eventIds);
+        publishCompletionChange(wasCompleted, saved.isCompleted());
+        publishChanges(eventIds, EventChange.Type.TASK_UPDATED, saved.getId());
+        publishTaskChanges(List.of(saved.getId()));
+        return taskMapper.toDetailDTO(saved);
     }
 
-    public TaskDetailDTO toggleTaskCompletion(UUID id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
-        task.setCompleted(!task.isCompleted());
-        return taskMapper.toDetailDTO(taskRepository.save(task));
+    public VersionedTask toggleTaskCompletion(UUID id, Long expectedVersion) {
+        return updateCompletion(id, null, expectedVersion);
+    }
+
+    public VersionedTask setTaskCompletion(UUID id, boolean completed, Long expectedVersion) {
+        return updateCompletion(id, completed, expectedVersion);
+    }
+
+    // One conditional UPDATE decides the new state in the database, so concurrent toggles cannot both flip
+    // from the same snapshot, and the response is built from its RETURNING row without loading any entities.
+    private VersionedTask updateCompletion(UUID id, Boolean completed, Long expectedVersion) {
+        Optional<VersionedTask> updated = taskRepository.updateCompletion(id, completed, expectedVersion, OffsetDateTime.now());
+        if (updated.isEmpty()) {
+            EntityVersion current = taskRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+            requireVersion(expectedVersion, current.version(), id);
+            // Already in the requested state, so there is nothing to write.
+            TaskDetailDTO task = getTaskById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+            return new VersionedTask(task, current.version());
+        }
+        TaskDetailDTO task = updated.get().task();
+        publishCompletionChange(task.completed() ? 1 : -1);
+        publishChanges(task.eventId() != null ? Set.of(task.eventId()) : Set.of(), EventChange.Type.TASK_TOGGLED, id);
+        publishTaskChanges(List.of(id));
+        return updated.get();
+    }
+
+    private static void requireVersion(Long expectedVersion, long actualVersion, UUID id) {
+        if (expectedVersion != null && expectedVersion != actualVersion) {
+            throw new PreconditionFailedException("Task " + id + " has been modified since version " + expectedVersion);
+        }
     }
 
     public void deleteTask(UUID id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            Set<UUID> eventIds = eventIds(List.of(task));
+            taskRepository.delete(task);
+            touchEvents(eventIds);
+            eventPublisher.publishEvent(StatisticsDelta.tasks(-1, task.isCompleted() ? -1 : 0));
+            publishChanges(eventIds, EventChange.Type.TASK_DELETED, id);
+            publishTaskChanges(List.of(id));
+        });
+    }
+
+    public List<TaskDetailDTO> createTasks(List<TaskRequestDTO> requests) {
+        log.info("Bulk creating {} tasks", requests.size());
+        Map<UUID, OffsetDateTime> eventDates = resolveEventDates(requests);
+        Map<UUID, User> assignees = resolveAssignees(requests);
+        validateDueDates(requests, eventDates, List.of());
+
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (TaskRequestDTO request : requests) {
+            Task task = new Task();
+            applyBulkChanges(task, request, assignees);
+            tasks.add(task);
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+        touchEvents(saved);
+        eventPublisher.publishEvent(StatisticsDelta.tasks(saved.size(), saved.stream().filter(Task::isCompleted).count()));
+        publishChanges(eventIds(saved), EventChange.Type.TASKS_CHANGED, null);
+        publishTaskChanges(saved.stream().map(Task::getId).toList());
+        return saved.stream()
+                .map(taskMapper::toDetailDTO)
+                .toList();
+    }
+
+    public List<TaskDetailDTO> updateTasks(List<TaskBulkUpdateRequestDTO.Item> items) {
+        log.info("Bulk updating {} tasks", items.size());
+        Map<UUID, Task> tasks = loadTasks(items.stream().map(TaskBulkUpdateRequestDTO.Item::id).toList());
+        List<TaskRequestDTO> requests = items.stream().map(TaskBulkUpdateRequestDTO.Item::changes).toList();
+        Map<UUID, OffsetDateTime> eventDates = resolveEventDates(requests);
+        Map<UUID, User> assignees = resolveAssignees(requests);
+        validateDueDates(requests, eventDates, items.stream().map(item -> tasks.get(item.id())).toList());
+
+        long completedBefore = tasks.values().stream().filter(Task::isCompleted).count();
+        Set<UUID> eventIds = eventIds(tasks.values());
+        List<TaskDetailDTO> result = new ArrayList<>(items.size());
+        for (TaskBulkUpdateRequestDTO.Item item : items) {
+            Task task = tasks.get(item.id());
+            applyBulkChanges(task, item.changes(), assignees);
+        }
+        eventIds.addAll(eventIds(tasks.values()));
+        touchEvents(eventIds);
+        for (TaskBulkUpdateRequestDTO.Item item : items) {
+            result.add(taskMapper.toDetailDTO(tasks.get(item.id())));
+        }
+        long completedAfter = tasks.values().stream().filter(Task::isCompleted).count();
+        publishCompletionChange(completedAfter - completedBefore);
+        publishChanges(eventIds, EventChange.Type.TASKS_CHANGED, null);
+        publishTaskChanges(tasks.keySet());
+        return result;
+    }
+
+    public List<TaskSummaryDTO> toggleTasks(Set<UUID> ids) {
+        log.info("Bulk toggling {} tasks", ids.size());
+        Map<UUID, Task> tasks = loadTasks(ids);
+        long completedBefore = tasks.values().stream().filter(Task::isCompleted).count();
+        tasks.values().forEach(task -> task.setCompleted(!task.isCompleted()));
+        touchEvents(tasks.values());
+        // Every completed task reopens and every open one completes.
+        publishCompletionChange((tasks.size() - completedBefore) - completedBefore);
+        publishChanges(eventIds(tasks.values()), EventChange.Type.TASKS_CHANGED, null);
+        publishTaskChanges(tasks.keySet());
+        return tasks.values().stream()
+                .map(taskMapper::toSummaryDTO)
+                .toList();
+    }
+
+    // Event details list their tasks, so every task write also moves the owning events' versions.
+    private void touchEvents(Collection<Task> tasks) {
+        touchEvents(eventIds(tasks));
+    }
+
+    private void touchEvents(Set<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            taskRepository.flush();
+            return;
+        }
+        eventRepository.touch(eventIds, OffsetDateTime.now());
+    }
+
+    private static Set<UUID> eventIds(Collection<Task> tasks) {
+        Set<UUID> ids = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getEvent() != null) {
+                ids.add(task.getEvent().getId());
+            }
+        }
+        return ids;
+    }
+
+    private void publishCompletionChange(boolean wasCompleted, boolean isCompleted) {
+        publishCompletionChange((isCompleted ? 1 : 0) - (wasCompleted ? 1 : 0));
+    }
+
+    private void publishCompletionChange(long delta) {
+        if (delta != 0) {
+            eventPublisher.publishEvent(StatisticsDelta.tasks(0, delta));
+        }
+    }
+
+    // Bulk writes send one change per event rather than per task, so a large batch cannot overrun a stream.
+    private void publishChanges(Set<UUID> eventIds, EventChange.Type type, UUID taskId) {
+        for (UUID eventId : eventIds) {
+            eventPublisher.publishEvent(new EventChange(eventId, type, taskId));
+        }
+    }
+
+    // Lets other nodes drop what they hold for these tasks; unlike stream changes these are never coalesced per event.
+    private void publishTaskChanges(Collection<UUID> taskIds) {
+        for (UUID taskId : taskIds) {
+            eventPublisher.publishEvent(EntityChange.task(taskId));
+        }
+    }
+
+    private Map<UUID, Task> loadTasks(Collection<UUID> ids) {
+        Map<UUID, Task> tasks = taskRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        List<UUID> missing = ids.stream().filter(id -> !tasks.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Tasks not found with ids " + missing);
+        }
+        return tasks;
+    }
+
+    private Map<UUID, OffsetDateTime> resolveEventDates(List<TaskRequestDTO> requests) {
+        Set<UUID> ids = requests.stream()
+                .map(TaskRequestDTO::eventId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, OffsetDateTime> dates = eventRepository.findDatesByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventRepository.EventDate::id, EventRepository.EventDate::date));
+        List<UUID> missing = ids.stream().filter(id -> !dates.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Events not found with ids " + missing);
+        }
+        return dates;
+    }
+
+    private Map<UUID, User> resolveAssignees(List<TaskRequestDTO> requests) {
+        Set<UUID> ids = requests.stream()
+                .map(TaskRequestDTO::assignedToId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UUID> missing = ids.stream().filter(id -> !users.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Users not found with ids " + missing);
+        }
+        return users;
+    }
+
+    /**
+     * Checks every due date against its target event before anything is written, so one bad row
+     * rejects the whole batch with all offending positions listed.
+     */
+    private void validateDueDates(List<TaskRequestDTO> requests, Map<UUID, OffsetDateTime> eventDates, List<Task> existing) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequestDTO request = requests.get(i);
+            OffsetDateTime eventDate = null;
+            if (request.eventId() != null) {
+                eventDate = eventDates.get(request.eventId());
+            } else if (!existing.isEmpty() && existing.get(i).getEvent() != null) {
+                eventDate = existing.get(i).getEvent().getDate();
+            }
+            if (request.dueDate() != null && eventDate != null && request.dueDate().isAfter(eventDate)) {
+                errors.add("tasks[" + i + "]");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Task due date cannot be after event date: " + String.join(", ", errors));
+        }
+    }
+
+    private void applyBulkChanges(Task task, TaskRequestDTO request, Map<UUID, User> assignees) {
+        task.setDescription(request.description());
+        task.setDueDate(request.dueDate());
+        if (request.completed() != null) {
+            task.setCompleted(request.completed());
+        }
+        if (request.eventId() != null) {
+            task.setEvent(eventRepository.getReferenceById(request.eventId()));
+        }
+        task.setAssignedTo(request.assignedToId() != null ? assignees.get(request.assignedToId()) : null);
     }
 }
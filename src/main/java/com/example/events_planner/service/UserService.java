@@ -1,14 +1,21 @@
 package com.example.events_planner.service;
 
+import com.example.events_planner.cluster.EntityChange;
 import com.example.events_planner.dto.UserAdminRequest;
 import com.example.events_planner.dto.UserDetailDTO;
 import com.example.events_planner.dto.UserSummaryDTO;
 import com.example.events_planner.entity.User;
 import com.example.events_planner.exception.ResourceNotFoundException;
 import com.example.events_planner.mapper.UserMapper;
+import com.example.events_planner.repository.EventRepository;
+import com.example.events_planner.repository.TaskRepository;
 import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
+import com.example.events_planner.security.LoginAttemptTracker;
+import com.example.events_planner.security.PrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -18,6 +25,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -29,31 +37,48 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
-
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserMapper userMapper) {
+    private final PrincipalCache principalCache;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final EventRepository eventRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserMapper userMapper,
+                       PrincipalCache principalCache, LoginAttemptTracker loginAttemptTracker,
+                       EventRepository eventRepository, TaskRepository taskRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
+        this.principalCache = principalCache;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.eventRepository = eventRepository;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    public User getCurrentUser() {
+    public AuthenticatedUser getCurrentUser() {
+        // The session only tells us who logged in; roles and existence come from the cache, which user writes evict.
         String username = Objects.requireNonNull(SecurityContextHolder.getContext().getAuthentication()).getName();
-        return userRepository.findByUsername(username)
+        return principalCache.find(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<UserDetailDTO> getAllUsers() {
-        return userRepository.findAll().stream()
+        return userRepository.findAllWithAuthorities().stream()
                 .map(userMapper::toDetailDTO)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<UserSummaryDTO> getAllUserSummaries() {
         return userRepository.findAll().stream()
                 .map(userMapper::toSummaryDTO)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public Optional<UserDetailDTO> getUserById(UUID id) {
         return userRepository.findById(id).map(userMapper::toDetailDTO);
     }
@@ -73,8 +98,24 @@ public class UserService {
         
         user.setCreatedAt(OffsetDateTime.now());
         user.setUpdatedAt(OffsetDateTime.now());
-        
-        return userMapper.toDetailDTO(userRepository.save(user));
+
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(StatisticsDelta.users(1));
+        return userMapper.toDetailDTO(saved);
+    }
+
+    public void registerUser(String username, String email, String rawPassword) {
+        log.info("Registering new user with username: {}", username);
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode(rawPassword));
+        user.setAuthorities(Set.of("ROLE_USER"));
+        user.setCreatedAt(OffsetDateTime.now());
+        user.setUpdatedAt(OffsetDateTime.now());
+
+        userRepository.save(user);
+        eventPublisher.publishEvent(StatisticsDelta.users(1));
     }
 
     private void validateCreateUserRequest(UserAdminRequest request) {
@@ -96,6 +137,9 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + id));
 
+        loginAttemptTracker.reset(user.getUsername());
+        boolean summaryChanged = !Objects.equals(user.getUsername(), request.username())
+                || !Objects.equals(user.getAvatar(), request.avatar());
         user.setUsername(request.username());
         user.setEmail(request.email());
         if (request.enabled() != null) {
@@ -114,10 +158,32 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(request.password()));
         }
 
+        if (summaryChanged) {
+            touchDependents(id);
+        }
+        principalCache.evict(id);
+        eventPublisher.publishEvent(EntityChange.user(id));
         return userMapper.toDetailDTO(userRepository.save(user));
     }
 
     public void deleteUser(UUID id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            // Organizer rows go with the user through ON DELETE CASCADE. The lock keeps a concurrent
+            // addOrganizer from committing a row between the count and the delete.
+            eventRepository.lockOrganizerCounts(List.of(id));
+            long organizers = eventRepository.countOrganizingUsers(List.of(id));
+            touchDependents(id);
+            userRepository.delete(user);
+            eventPublisher.publishEvent(new StatisticsDelta(-1, 0, 0, 0, -organizers));
+            eventPublisher.publishEvent(EntityChange.user(id));
+        });
+        principalCache.evict(id);
+    }
+
+    // Event and task details embed the user's summary, so their validators must move with it.
+    private void touchDependents(UUID userId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        eventRepository.touchInvolving(userId, now);
+        taskRepository.touchAssignedTo(userId, now);
     }
 }
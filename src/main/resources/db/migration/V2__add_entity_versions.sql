@@ -0,0 +1,3 @@
+-- Per-row versions back optimistic locking and the ETags served for event and task details.
+ALTER TABLE events ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- Full-text search over event titles and descriptions and their address names.
+-- Generated columns cannot reach across tables, so events and addresses each carry their own vector.
+ALTER TABLE events
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+ALTER TABLE addresses
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(location_name, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(city, '')), 'C')
+    ) STORED;
+
+CREATE INDEX ix_events_search_vector ON events USING gin (search_vector);
+CREATE INDEX ix_addresses_search_vector ON addresses USING gin (search_vector);
+
+-- Address matches are mapped back to their events through this column.
+CREATE INDEX ix_events_address_id ON events (address_id);
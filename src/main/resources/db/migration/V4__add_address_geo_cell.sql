@@ -0,0 +1,11 @@
+-- Coarse grid bucket for proximity search: 0.1 degree rows and columns, row * 3600 + column.
+-- Must stay in sync with GeoGrid; exact distances are computed at query time.
+ALTER TABLE addresses
+    ADD COLUMN geo_cell bigint GENERATED ALWAYS AS (
+        CASE WHEN latitude IS NULL OR longitude IS NULL THEN NULL
+             ELSE least(floor((latitude + 90) / 0.1), 1799)::bigint * 3600
+                  + least(floor((longitude + 180) / 0.1), 3599)::bigint
+        END
+    ) STORED;
+
+CREATE INDEX ix_addresses_geo_cell ON addresses (geo_cell);
@@ -0,0 +1,4 @@
+-- Range scans for the calendar and the date-ordered event listing.
+CREATE INDEX ix_events_date ON events (date, id);
+CREATE INDEX ix_tasks_assigned_to_due_date ON tasks (assigned_to_id, due_date);
+CREATE INDEX ix_tasks_event_id_due_date ON tasks (event_id, due_date);
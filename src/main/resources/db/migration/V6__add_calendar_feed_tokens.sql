@@ -0,0 +1,2 @@
+-- Only a SHA-256 digest of the feed token is stored; the token itself is shown to the user once.
+ALTER TABLE users ADD COLUMN calendar_token_hash text UNIQUE;
@@ -0,0 +1,3 @@
+-- The join tables' primary keys lead with event_id; lookups by user need the reverse order.
+CREATE INDEX ix_event_members_user_id ON event_members (user_id, event_id);
+CREATE INDEX ix_event_organizers_user_id ON event_organizers (user_id, event_id);
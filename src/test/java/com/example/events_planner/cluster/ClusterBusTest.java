@@ -0,0 +1,130 @@
+package com.example.events_planner.cluster;
+
+import com.example.events_planner.EventsPlannerApplication;
+import com.example.events_planner.dto.UserAdminRequest;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.EventRepository;
+import com.example.events_planner.repository.TaskRepository;
+import com.example.events_planner.repository.UserRepository;
+import com.example.events_planner.security.AuthenticatedUser;
+import com.example.events_planner.security.PrincipalCache;
+import com.example.events_planner.service.EventChange;
+import com.example.events_planner.service.TaskService;
+import com.example.events_planner.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs a second application context against the same database to stand in for another node.
+ */
+@SpringBootTest
+class ClusterBusTest {
+
+    private static ConfigurableApplicationContext otherNode;
+    private static final List<ClusterChanges> received = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeAll
+    static void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(EventsPlannerApplication.class)
+                .properties("server.port=0", "spring.docker.compose.enabled=false", "spring.jpa.show-sql=false")
+                .listeners(ApplicationListener.<ClusterChanges>forPayload(received::add))
+                .run();
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        otherNode.close();
+    }
+
+    @Test
+    void shouldDeliverCoalescedTaskChangesWithCommittedVersion() {
+        String suffix = UUID.randomUUID().toString();
+        Event event = new Event();
+        event.setTitle("Cluster " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(3));
+        event = eventRepository.save(event);
+        Task task = new Task();
+        task.setDescription("Cluster task " + suffix);
+        task.setEvent(event);
+        UUID taskId = taskRepository.save(task).getId();
+        UUID eventId = event.getId();
+
+        for (int i = 0; i < 3; i++) {
+            taskService.toggleTaskCompletion(taskId, null);
+        }
+        long taskVersion = taskRepository.findVersionById(taskId).orElseThrow().version();
+        long eventVersion = eventRepository.findVersionById(eventId).orElseThrow().version();
+
+        await().until(() -> latest(EntityChange.Kind.TASK, taskId) == taskVersion
+                && latest(EntityChange.Kind.EVENT, eventId) == eventVersion);
+        assertThat(changes()).contains(
+                new EntityChange(EntityChange.Kind.EVENT, eventId, eventVersion, EventChange.Type.TASK_TOGGLED, taskId));
+        assertThat(changes()).filteredOn(change -> change.id().equals(taskId)).hasSizeLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldEvictPrincipalsCachedOnOtherNodes() {
+        String username = "cluster_" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setAuthorities(Set.of("ROLE_USER"));
+        UUID userId = userRepository.save(user).getId();
+        PrincipalCache otherCache = otherNode.getBean(PrincipalCache.class);
+        assertThat(authorities(otherCache.find(username).orElseThrow())).containsExactly("ROLE_USER");
+
+        userService.updateUser(userId, new UserAdminRequest(username, null, null, null, null, null, new HashSet<>(Set.of("ROLE_ADMIN"))));
+
+        await().until(() -> authorities(otherCache.find(username).orElseThrow()).contains("ROLE_ADMIN"));
+    }
+
+    private static List<EntityChange> changes() {
+        return received.stream().flatMap(batch -> batch.changes().stream()).toList();
+    }
+
+    private static long latest(EntityChange.Kind kind, UUID id) {
+        return changes().stream()
+                .filter(change -> change.kind() == kind && change.id().equals(id))
+                .mapToLong(EntityChange::version)
+                .max()
+                .orElse(-1);
+    }
+
+    private static List<String> authorities(AuthenticatedUser principal) {
+        return principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.events_planner.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CalendarQueryPlanTest {
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void calendarRangesShouldBeServedByIndexes() {
+        // The test tables are tiny, so sequential scans are priced out to see which indexes the query can use.
+        String plan = transactionTemplate.execute(status -> {
+            jdbcClient.sql("SET LOCAL enable_seqscan = off").update();
+            return jdbcClient.sql("EXPLAIN (FORMAT JSON) " + CalendarRepository.ENTRIES_SQL)
+                    .param("userId", UUID.randomUUID())
+                    .param("from", OffsetDateTime.now())
+                    .param("to", OffsetDateTime.now().plusDays(30))
+                    .query(String.class)
+                    .single();
+        });
+
+        List<JsonNode> scans = new ArrayList<>();
+        collectScans(JsonMapper.builder().build().readTree(plan).get(0).get("Plan"), scans);
+
+        assertThat(scans).noneMatch(node -> node.get("Node Type").asString().equals("Seq Scan"));
+        assertThat(scans).extracting(node -> node.path("Index Name").asString())
+                .contains("ix_events_date", "ix_tasks_assigned_to_due_date");
+    }
+
+    private static void collectScans(JsonNode node, List<JsonNode> scans) {
+        if (node.has("Relation Name") || node.has("Index Name")) {
+            scans.add(node);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, scans);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.events_planner.repository;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.web.QueryCountConfiguration;
+import com.example.events_planner.web.QueryCountConfiguration.CapturedQuery;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a few thousand rows, replays the repository queries and runs EXPLAIN on every statement they issued.
+ * EXPLAIN without ANALYZE only plans, so writes are explained the same way as reads. A sequential scan over any
+ * table larger than {@link #SEQ_SCAN_ROW_THRESHOLD} rows fails the test. Everything runs in one transaction that
+ * is rolled back.
+ */
+@SpringBootTest
+@Import(QueryCountConfiguration.class)
+class QueryPlanRegressionTest {
+
+    private static final long SEQ_SCAN_ROW_THRESHOLD = 1_000;
+    private static final Set<String> EXPLAINABLE = Set.of("select", "with", "insert", "update", "delete");
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Test
+    void hotQueriesShouldNotScanLargeTables() {
+        List<String> violations = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            seed();
+            UUID userId = jdbcClient.sql("SELECT user_id FROM event_members LIMIT 1").query(UUID.class).single();
+            String username = jdbcClient.sql("SELECT username FROM users WHERE id = :id").param("id", userId).query(String.class).single();
+            UUID eventId = jdbcClient.sql("SELECT event_id FROM event_members WHERE user_id = :id LIMIT 1").param("id", userId).query(UUID.class).single();
+            List<UUID> taskIds = jdbcClient.sql("SELECT id FROM tasks WHERE event_id = :id").param("id", eventId).query(UUID.class).list();
+            OffsetDateTime from = jdbcClient.sql("SELECT date FROM events WHERE id = :id").param("id", eventId).query(OffsetDateTime.class).single();
+
+            QueryCountConfiguration.clear();
+            exerciseRepositories(userId, username, eventId, taskIds, from);
+            List<CapturedQuery> queries = QueryCountConfiguration.queries();
+            assertThat(queries).hasSizeGreaterThan(30);
+            List<String> found = explainAll(queries, SEQ_SCAN_ROW_THRESHOLD);
+
+            // The admin listing reads every user by design; it only has to stay a single valid statement.
+            QueryCountConfiguration.clear();
+            userRepository.findAllWithAuthorities();
+            List<CapturedQuery> listing = QueryCountConfiguration.queries();
+            assertThat(listing).hasSize(1);
+            explainAll(listing, Long.MAX_VALUE);
+            return found;
+        });
+
+        assertThat(violations).isEmpty();
+    }
+
+    private void exerciseRepositories(UUID userId, String username, UUID eventId, List<UUID> taskIds, OffsetDateTime from) {
+        OffsetDateTime to = from.plusDays(7);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        eventRepository.findSummaries(userId, from, to, null, Sort.Direction.ASC, 51);
+        eventRepository.findSummaries(null, from, to, null, Sort.Direction.DESC, 51);
+        eventRepository.search("1234", userId, null, 21);
+        eventRepository.findNearby(55.5, 13.5, 10, userId, null, 21);
+        eventRepository.findVersionById(eventId);
+        Event event = eventRepository.findDetailById(eventId).orElseThrow();
+        event.getOrganizers().size();
+        event.getMembers().size();
+        eventRepository.findDatesByIdIn(List.of(eventId));
+        eventRepository.countOrganizingUsers(List.of(userId));
+        eventRepository.countEventsOrganizedBy(userId);
+        eventRepository.findOrganizerIds(eventId);
+        eventRepository.lockOrganizerCounts(List.of(userId));
+        eventRepository.deleteMembers(eventId, List.of(userId));
+        eventRepository.insertMembers(eventId, List.of(userId));
+        eventRepository.deleteOrganizers(eventId, List.of(userId));
+        eventRepository.insertOrganizers(eventId, List.of(userId));
+        eventRepository.touchInvolving(userId, now);
+        eventRepository.touch(List.of(eventId), now);
+
+        taskRepository.findByEventId(eventId);
+        taskRepository.findByAssignedToId(userId);
+        taskRepository.countByEventId(eventId);
+        taskRepository.countByEventIdAndCompletedTrue(eventId);
+        taskRepository.findByIdIn(taskIds);
+        taskRepository.findVersionById(taskIds.getFirst());
+        taskRepository.updateCompletion(taskIds.getFirst(), true, null, now);
+        taskRepository.touchAssignedTo(userId, now);
+
+        userRepository.findByUsername(username);
+        userRepository.existsByUsername(username);
+        userRepository.existsByEmail(username + "@example.com");
+        userRepository.findIdByCalendarTokenHash("0".repeat(64));
+        userRepository.updateCalendarTokenHash(userId, "1".repeat(64));
+        userRepository.recordFailedLogin(username, 5);
+        userRepository.recordSuccessfulLogin(username, now);
+
+        calendarRepository.findEntries(userId, from, to);
+        calendarRepository.findFeedVersion(userId);
+        calendarRepository.streamFeedEvents(userId, rs -> { });
+        calendarRepository.streamFeedTasks(userId, rs -> { });
+    }
+
+    private List<String> explainAll(List<CapturedQuery> queries, long seqScanRowThreshold) {
+        List<String> violations = new ArrayList<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        for (CapturedQuery query : queries) {
+            String sql = query.sql().strip();
+            String keyword = sql.split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+            if (!EXPLAINABLE.contains(keyword)) {
+                continue;
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+                for (ParameterSetOperation parameter : query.parameters()) {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    JsonNode plan = jsonMapper.readTree(rs.getString(1)).get(0).get("Plan");
+                    collectViolations(plan, sql, seqScanRowThreshold, violations);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not explain: " + sql, e);
+            }
+        }
+        return violations;
+    }
+
+    private void collectViolations(JsonNode node, String sql, long seqScanRowThreshold, List<String> violations) {
+        if (node.get("Node Type").asString().equals("Seq Scan")) {
+            String relation = node.get("Relation Name").asString();
+            long rows = jdbcClient.sql("SELECT reltuples::bigint FROM pg_class WHERE relname = :name")
+                    .param("name", relation).query(Long.class).single();
+            if (rows > seqScanRowThreshold) {
+                violations.add("Seq Scan on " + relation + " (" + rows + " rows) in: " + sql);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectViolations(child, sql, seqScanRowThreshold, violations);
+        }
+    }
+
+    private void seed() {
+        jdbcClient.sql("""
+                INSERT INTO users (username, email, password)
+                SELECT 'plan_user_' || g, 'plan_user_' || g || '@example.com', '{noop}x'
+                FROM generate_series(1, 5000) g""").update();
+        jdbcClient.sql("""
+                INSERT INTO authorities (user_id, authority)
+                SELECT id, 'ROLE_USER' FROM users WHERE username LIKE 'plan_user_%'""").update();
+        jdbcClient.sql("""
+                INSERT INTO addresses (street, city, country, location_name, latitude, longitude)
+                SELECT 'Plan street ' || g, 'City ' || (g % 200), 'Sweden', 'Hall ' || g,
+                       55 + (g % 100) / 100.0, 13 + (g % 100) / 100.0
+                FROM generate_series(1, 3000) g""").update();
+        jdbcClient.sql("""
+                INSERT INTO events (title, description, date, address_id)
+                SELECT 'Plan event ' || a.n, 'Seeded event number ' || a.n,
+                       now() + (a.n % 365) * interval '1 day', a.id
+                FROM (SELECT id, row_number() OVER (ORDER BY id) AS n
+                      FROM addresses WHERE street LIKE 'Plan street %') a""").update();
+        jdbcClient.sql("""
+                WITH e AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM events WHERE title LIKE 'Plan event %'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users WHERE username LIKE 'plan_user_%')
+                INSERT INTO event_members (event_id, user_id)
+                SELECT e.id, u.id FROM e JOIN u ON u.n % 1000 = e.n % 1000""").update();
+        jdbcClient.sql("""
+                WITH e AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM events WHERE title LIKE 'Plan event %'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users WHERE username LIKE 'plan_user_%')
+                INSERT INTO event_organizers (event_id, user_id)
+                SELECT e.id, u.id FROM e JOIN u ON u.n = e.n""").update();
+        jdbcClient.sql("""
+                WITH e AS (SELECT id, date, row_number() OVER (ORDER BY id) AS n FROM events WHERE title LIKE 'Plan event %'),
+                     u AS (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users WHERE username LIKE 'plan_user_%')
+                INSERT INTO tasks (description, completed, due_date, event_id, assigned_to_id)
+                SELECT 'Plan task ' || t || ' of ' || e.n, t % 3 = 0, e.date - t * interval '1 hour', e.id, u.id
+                FROM e CROSS JOIN generate_series(1, 10) t
+                JOIN u ON u.n = (e.n * 10 + t) % 5000 + 1""").update();
+        // VACUUM cannot run inside the transaction, so flush the GIN pending lists the way autovacuum would.
+        jdbcClient.sql("""
+                SELECT gin_clean_pending_list(c.oid) FROM pg_class c
+                JOIN pg_am am ON am.oid = c.relam
+                WHERE am.amname = 'gin'""").query().listOfRows();
+        jdbcClient.sql("ANALYZE users, authorities, addresses, events, event_members, event_organizers, tasks").update();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.events_planner.security;
+
+import com.example.events_planner.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setup() {
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, new PasswordHashingProperties(1, 1), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        await().until(() -> registry.get("auth.password.hash.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        await().until(() -> registry.get("auth.password.hash.queue").gauge().value() == 1);
+
+        assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(registry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("hashed:a");
+        assertThat(queued.join()).isEqualTo("hashed:b");
+        assertThat(registry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDelegateMatches() {
+        release.countDown();
+
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+        assertThat(encoder.matches("secret", "hashed:other")).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@WithMockUser(username = "export_admin", roles = "ADMIN")
+class AdminExportTest extends BaseWebTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String suffix;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void shouldStreamUsersAsNdjsonWithoutPasswords() throws Exception {
+        User exported = createAndSaveUser("export_" + suffix, "password", "ROLE_USER", "ROLE_ADMIN");
+
+        String body = mockMvc.perform(get("/api/admin/export/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/x-ndjson")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode row = Arrays.stream(body.split("\n"))
+                .map(jsonMapper::readTree)
+                .filter(node -> node.get("username").asString().equals(exported.getUsername()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(row.get("id").asString()).isEqualTo(exported.getId().toString());
+        assertThat(row.get("enabled").asBoolean()).isTrue();
+        assertThat(row.get("authorities").values()).extracting(JsonNode::asString)
+                .containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(row.has("password")).isFalse();
+    }
+
+    @Test
+    void shouldStreamTasksAsCsv() throws Exception {
+        Event event = new Event();
+        event.setTitle("Export " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(2));
+        UUID eventId = eventRepository.save(event).getId();
+        Task task = new Task();
+        task.setDescription("Bring \"chairs\", tables " + suffix);
+        task.setEvent(event);
+        UUID taskId = taskRepository.save(task).getId();
+
+        String body = mockMvc.perform(get("/api/admin/export/tasks").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,description,completed,dueDate,eventId,assignedToId,createdAt,updatedAt");
+        assertThat(lines).anySatisfy(line -> assertThat(line)
+                .startsWith(taskId + ",\"Bring \"\"chairs\"\", tables " + suffix + "\",false,," + eventId + ",,"));
+    }
+
+    @Test
+    void shouldRejectUnknownDatasetAndNonAdmins() throws Exception {
+        mockMvc.perform(get("/api/admin/export/passwords"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/export/events").with(user("export_user").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+}
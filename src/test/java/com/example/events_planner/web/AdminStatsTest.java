@@ -0,0 +1,126 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.dto.AdminStatsDTO;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.service.EventService;
+import com.example.events_planner.service.StatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@WithMockUser(username = "stats_admin", roles = "ADMIN")
+class AdminStatsTest extends BaseWebTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private EventService eventService;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+    }
+
+    @Test
+    void shouldTrackWritesWithoutRecounting() throws Exception {
+        User organizer = createAndSaveUser("stats_" + UUID.randomUUID(), "password", "ROLE_USER");
+        statisticsService.reconcile();
+        AdminStatsDTO before = statisticsService.getAdminStats();
+
+        String event = mockMvc.perform(post("/api/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Stats %s", "date": "%s"}
+                                """.formatted(UUID.randomUUID(), OffsetDateTime.now().plusDays(10))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String eventId = objectMapper.readTree(event).get("id").asText();
+
+        String task = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"description": "Count me", "eventId": "%s"}
+                                """.formatted(eventId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String taskId = objectMapper.readTree(task).get("id").asText();
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/events/{id}/organizers/{userId}", eventId, organizer.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEvents").value(before.totalEvents() + 1))
+                .andExpect(jsonPath("$.totalTasks").value(before.totalTasks() + 1))
+                .andExpect(jsonPath("$.completedTasks").value(before.completedTasks() + 1))
+                .andExpect(jsonPath("$.activeOrganizers").value(before.activeOrganizers() + 1))
+                .andExpect(jsonPath("$.reconciledAt").exists())
+                .andExpect(jsonPath("$.secondsSinceReconciliation").isNumber());
+
+        mockMvc.perform(delete("/api/events/{id}", eventId)).andExpect(status().isNoContent());
+        AdminStatsDTO incremental = statisticsService.getAdminStats();
+        assertThat(incremental.totalEvents()).isEqualTo(before.totalEvents());
+        assertThat(incremental.totalTasks()).isEqualTo(before.totalTasks());
+        assertThat(incremental.completedTasks()).isEqualTo(before.completedTasks());
+        assertThat(incremental.activeOrganizers()).isEqualTo(before.activeOrganizers());
+
+        statisticsService.reconcile();
+        AdminStatsDTO recounted = statisticsService.getAdminStats();
+        assertThat(recounted.totalEvents()).isEqualTo(incremental.totalEvents());
+        assertThat(recounted.totalTasks()).isEqualTo(incremental.totalTasks());
+        assertThat(recounted.activeOrganizers()).isEqualTo(incremental.activeOrganizers());
+    }
+
+    @Test
+    void shouldCountUserOrganizingTwoEventsConcurrentlyOnce() {
+        statisticsService.reconcile();
+        AdminStatsDTO before = statisticsService.getAdminStats();
+
+        int rounds = 10;
+        for (int i = 0; i < rounds; i++) {
+            UUID organizer = createAndSaveUser("stats_race_" + UUID.randomUUID(), "password", "ROLE_USER").getId();
+            UUID first = saveEvent();
+            UUID second = saveEvent();
+            CyclicBarrier start = new CyclicBarrier(2);
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> addOrganizerAfter(start, first, organizer)),
+                    CompletableFuture.runAsync(() -> addOrganizerAfter(start, second, organizer))
+            ).join();
+        }
+
+        assertThat(statisticsService.getAdminStats().activeOrganizers()).isEqualTo(before.activeOrganizers() + rounds);
+    }
+
+    private void addOrganizerAfter(CyclicBarrier start, UUID eventId, UUID userId) {
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        eventService.addOrganizer(eventId, userId);
+    }
+
+    private UUID saveEvent() {
+        return createAndSaveEvent("Stats race " + UUID.randomUUID(), OffsetDateTime.now().plusDays(10), event -> { })
+                .getId();
+    }
+}
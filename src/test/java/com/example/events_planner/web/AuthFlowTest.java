@@ -2,15 +2,21 @@ package com.example.events_planner.web;
 
 import com.example.events_planner.controller.auth.AuthController;
 import com.example.events_planner.entity.User;
+import com.example.events_planner.security.LoginAttemptTracker;
+import com.example.events_planner.security.PrincipalCache;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.Set;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -21,6 +27,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class AuthFlowTest extends BaseWebTest {
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
     @BeforeEach
     void setup() {
         setupMockMvc();
@@ -149,4 +161,69 @@ class AuthFlowTest extends BaseWebTest {
         assertThat(attemptsAfterSuccess).isEqualTo(0);
     }
 
+    @Test
+    void repeatedFailuresShouldLockAccountAndShortCircuit() throws Exception {
+        String username = "lockout_" + UUID.randomUUID();
+        createAndSaveUser(username, "{noop}correct-password", "ROLE_USER");
+
+        AuthController.LoginRequest wrong = new AuthController.LoginRequest(username, "wrongpassword");
+        for (int i = 0; i < LoginAttemptTracker.MAX_FAILED_ATTEMPTS; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(wrong)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        User locked = userRepository.findByUsername(username).orElseThrow();
+        assertThat(locked.getFailedLoginAttempts()).isEqualTo(LoginAttemptTracker.MAX_FAILED_ATTEMPTS);
+        assertThat(locked.isAccountNonLocked()).isFalse();
+
+        // Further attempts are refused in memory and no longer reach the counter.
+        AuthController.LoginRequest correct = new AuthController.LoginRequest(username, "correct-password");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(correct)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(wrong)))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(userRepository.findByUsername(username).orElseThrow().getFailedLoginAttempts())
+                .isEqualTo(LoginAttemptTracker.MAX_FAILED_ATTEMPTS);
+    }
+
+    @Test
+    void failedLoginShouldNotCachePrincipal() throws Exception {
+        String username = "uncached_" + UUID.randomUUID();
+        User user = createAndSaveUser(username, "{noop}correct-password", "ROLE_USER");
+
+        AuthController.LoginRequest wrong = new AuthController.LoginRequest(username, "wrongpassword");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(wrong)))
+                .andExpect(status().isUnauthorized());
+
+        // Changed without evicting; a principal cached by the failed attempt would still carry the old role.
+        user.setAuthorities(Set.of("ROLE_ADMIN"));
+        userRepository.save(user);
+
+        assertThat(principalCache.find(username).orElseThrow().getRoles()).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void failuresForUnknownUsernamesShouldNotBeTracked() throws Exception {
+        String username = "unknown_" + UUID.randomUUID();
+
+        AuthController.LoginRequest wrong = new AuthController.LoginRequest(username, "wrongpassword");
+        for (int i = 0; i < LoginAttemptTracker.MAX_FAILED_ATTEMPTS; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(wrong)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Otherwise guessed usernames would fill the tracker and push out counters of real accounts.
+        assertThat(loginAttemptTracker.isBlocked(username)).isFalse();
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.events_planner.web;
 
+import com.example.events_planner.entity.Address;
+import com.example.events_planner.entity.Event;
 import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.EventRepository;
 import com.example.events_planner.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -11,7 +14,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.OffsetDateTime;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @SpringBootTest
 public abstract class BaseWebTest {
@@ -22,6 +27,9 @@ public abstract class BaseWebTest {
     @Autowired
     protected UserRepository userRepository;
 
+    @Autowired
+    protected EventRepository eventRepository;
+
     protected MockMvc mockMvc;
 
     protected final ObjectMapper objectMapper = new ObjectMapper()
@@ -42,4 +50,24 @@ public abstract class BaseWebTest {
         user.setAuthorities(Set.of(roles));
         return userRepository.save(user);
     }
+
+    /**
+     * Saves an event with the given title and date after {@code details} has filled in anything else, such as
+     * an address, members or organizers.
+     */
+    protected Event createAndSaveEvent(String title, OffsetDateTime date, Consumer<Event> details) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDate(date);
+        details.accept(event);
+        return eventRepository.save(event);
+    }
+
+    protected static Address createAddress(String city) {
+        Address address = new Address();
+        address.setStreet("Main Street 1");
+        address.setCity(city);
+        address.setCountry("Sweden");
+        return address;
+    }
 }
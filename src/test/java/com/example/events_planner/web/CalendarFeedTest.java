@@ -0,0 +1,100 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class CalendarFeedTest extends BaseWebTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String suffix;
+    private User owner;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        owner = createAndSaveUser("feed_" + suffix, "password", "ROLE_USER");
+    }
+
+    @Test
+    void shouldServeEventsAndTasksAnonymouslyWithRevalidation() throws Exception {
+        Event event = new Event();
+        event.setTitle("Feed, party; " + suffix);
+        event.setDate(OffsetDateTime.of(2031, 5, 1, 18, 30, 0, 0, ZoneOffset.ofHours(2)));
+        event.getMembers().add(owner);
+        event = eventRepository.save(event);
+        Task task = new Task();
+        task.setDescription("Buy snacks " + suffix);
+        task.setDueDate(OffsetDateTime.of(2031, 4, 30, 12, 0, 0, 0, ZoneOffset.UTC));
+        task.setEvent(event);
+        task.setAssignedTo(owner);
+        taskRepository.save(task);
+
+        String path = rotateToken();
+        MvcResult first = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/calendar")))
+                .andReturn();
+        String body = first.getResponse().getContentAsString();
+        assertThat(body).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(body).contains(
+                "BEGIN:VEVENT\r\nUID:" + event.getId() + "@events-planner",
+                "DTSTART:20310501T163000Z",
+                "SUMMARY:Feed\\, party\\; " + suffix,
+                "BEGIN:VTODO",
+                "DUE:20310430T120000Z",
+                "STATUS:NEEDS-ACTION",
+                "RELATED-TO:" + event.getId() + "@events-planner");
+
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/tasks/{id}/toggle", task.getId()).with(user(owner.getUsername()).roles("USER")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldInvalidatePreviousTokenOnRotation() throws Exception {
+        String previous = rotateToken();
+        String current = rotateToken();
+
+        mockMvc.perform(get(previous)).andExpect(status().isNotFound());
+        mockMvc.perform(get(current)).andExpect(status().isOk());
+    }
+
+    private String rotateToken() throws Exception {
+        String response = mockMvc.perform(post("/api/calendar/token").with(user(owner.getUsername()).roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return jsonMapper.readTree(response).get("path").asString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class CalendarTest extends BaseWebTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String suffix;
+    private OffsetDateTime base;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        base = OffsetDateTime.of(2400, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldMergeOwnEventsAndAssignedTasksInTimeOrder() throws Exception {
+        User owner = createAndSaveUser("calendar_" + suffix, "password", "ROLE_USER");
+        User other = createAndSaveUser("calendar_other_" + suffix, "password", "ROLE_USER");
+
+        Event attended = createAndSaveEvent("Attended " + suffix, base.plusDays(3), event -> event.getMembers().add(owner));
+        createAndSaveEvent("Not mine " + suffix, base.plusDays(2), event -> event.getMembers().add(other));
+        createAndSaveEvent("Too late " + suffix, base.plusDays(30), event -> event.getMembers().add(owner));
+        saveTask("Prepare " + suffix, base.plusDays(1), attended, owner);
+        saveTask("Someone else's " + suffix, base.plusDays(1), attended, other);
+        saveTask("Follow up " + suffix, base.plusDays(3).plusHours(2), attended, owner);
+
+        mockMvc.perform(get("/api/calendar")
+                        .with(user(owner.getUsername()).roles("USER"))
+                        .param("from", base.toString())
+                        .param("to", base.plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].title", contains("Prepare " + suffix, "Attended " + suffix, "Follow up " + suffix)))
+                .andExpect(jsonPath("$[*].type", contains("TASK", "EVENT", "TASK")))
+                .andExpect(jsonPath("$[0].eventId").value(attended.getId().toString()))
+                .andExpect(jsonPath("$[0].completed").value(false));
+    }
+
+    @Test
+    void shouldRejectInvertedOrOversizedWindow() throws Exception {
+        mockMvc.perform(get("/api/calendar").with(user("calendar_window").roles("USER"))
+                        .param("from", base.toString())
+                        .param("to", base.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/calendar").with(user("calendar_window").roles("USER"))
+                        .param("from", base.toString())
+                        .param("to", base.plusYears(2).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void saveTask(String description, OffsetDateTime dueDate, Event event, User assignee) {
+        Task task = new Task();
+        task.setDescription(description);
+        task.setDueDate(dueDate);
+        task.setEvent(event);
+        task.setAssignedTo(assignee);
+        taskRepository.save(task);
+    }
+}
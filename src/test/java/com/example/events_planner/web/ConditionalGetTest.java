@@ -0,0 +1,156 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.dto.EventRequestDTO;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import com.example.events_planner.service.EventService;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(QueryCountConfiguration.class)
+@WithMockUser(username = "conditional_admin", roles = "ADMIN")
+class ConditionalGetTest extends BaseWebTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String suffix;
+    private UUID eventId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        Event event = new Event();
+        event.setTitle("Conditional " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(5));
+        event = eventRepository.save(event);
+        eventId = event.getId();
+
+        Task task = new Task();
+        task.setDescription("Conditional task " + suffix);
+        task.setEvent(event);
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @Test
+    void shouldAnswerMatchingEventTagFromVersionLookupAlone() throws Exception {
+        String etag = etag("/api/events/{id}", eventId);
+
+        QueryCountConfiguration.clear();
+        mockMvc.perform(get("/api/events/{id}", eventId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        assertThat(QueryCountHolder.getGrandTotal().getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUpdateEventTouchedEarlierInSameTransaction() {
+        User member = createAndSaveUser("conditional_same_tx_" + suffix, "password", "ROLE_USER");
+        long version = eventRepository.findVersionById(eventId).orElseThrow().version();
+        EventRequestDTO rename = new EventRequestDTO("Renamed " + suffix, null, OffsetDateTime.now().plusDays(5),
+                null, null, null, null, null, null, null);
+
+        // The detail load puts the event in the persistence context before the membership write bumps its row.
+        transactionTemplate.executeWithoutResult(status -> {
+            eventService.getEventById(eventId).orElseThrow();
+            eventService.addMember(eventId, member.getId());
+            eventService.updateEvent(eventId, rename, version + 1);
+        });
+
+        assertThat(eventRepository.findVersionById(eventId).orElseThrow().version()).isEqualTo(version + 2);
+    }
+
+    @Test
+    void shouldChangeEventTagOnMembershipAndTaskWrites() throws Exception {
+        User member = createAndSaveUser("conditional_member_" + suffix, "password", "ROLE_USER");
+        String initial = etag("/api/events/{id}", eventId);
+
+        mockMvc.perform(post("/api/events/{id}/members/{userId}", eventId, member.getId()))
+                .andExpect(status().isNoContent());
+        String afterMembership = etag("/api/events/{id}", eventId);
+        assertThat(afterMembership).isNotEqualTo(initial);
+        mockMvc.perform(get("/api/events/{id}", eventId).header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId))
+                .andExpect(status().isOk());
+        assertThat(etag("/api/events/{id}", eventId)).isNotEqualTo(afterMembership);
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Another " + suffix + "\",\"eventId\":\"" + eventId + "\"}"))
+                .andExpect(status().isOk());
+        assertThat(etag("/api/events/{id}", eventId)).isNotEqualTo(afterMembership);
+    }
+
+    @Test
+    void shouldHonourIfModifiedSince() throws Exception {
+        String lastModified = mockMvc.perform(get("/api/events/{id}", eventId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(lastModified).isNotNull();
+
+        mockMvc.perform(get("/api/events/{id}", eventId).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldChangeTaskTagWhenTaskChanges() throws Exception {
+        String initial = etag("/api/tasks/{id}", taskId);
+        mockMvc.perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(initial)));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownTask() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", UUID.randomUUID()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    private String etag(String path, UUID id) throws Exception {
+        String etag = mockMvc.perform(get(path, id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
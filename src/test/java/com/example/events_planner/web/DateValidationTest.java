@@ -2,7 +2,6 @@ package com.example.events_planner.web;
 
 import com.example.events_planner.entity.Event;
 import com.example.events_planner.entity.Task;
-import com.example.events_planner.repository.EventRepository;
 import com.example.events_planner.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,9 +19,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 public class DateValidationTest extends BaseWebTest {
 
-    @Autowired
-    private EventRepository eventRepository;
-
     @Autowired
     private TaskRepository taskRepository;
 
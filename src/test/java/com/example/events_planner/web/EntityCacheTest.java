@@ -0,0 +1,137 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.cache.EntityCacheEviction;
+import com.example.events_planner.cluster.ClusterChanges;
+import com.example.events_planner.controller.auth.AuthController;
+import com.example.events_planner.cluster.EntityChange;
+import com.example.events_planner.dto.UserAdminRequest;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.service.EventService;
+import com.example.events_planner.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class EntityCacheTest extends BaseWebTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityCacheEviction entityCacheEviction;
+
+    private Cache cache;
+    private UUID userId;
+    private String username;
+
+    @BeforeEach
+    void setup() {
+        cache = entityManagerFactory.getCache();
+        username = "cached_" + UUID.randomUUID();
+        userId = createAndSaveUser(username, "password", "ROLE_USER").getId();
+        cache.evict(User.class, userId);
+    }
+
+    @Test
+    void shouldServeRepeatedLoadsFromCache() {
+        double hits = gets("users", "hit");
+
+        userRepository.findById(userId).orElseThrow();
+        assertThat(cache.contains(User.class, userId)).isTrue();
+        userRepository.findById(userId).orElseThrow();
+
+        assertThat(gets("users", "hit")).isGreaterThan(hits);
+        assertThat(gets("users", "miss")).isPositive();
+    }
+
+    @Test
+    void shouldReflectUpdatesAndDeletes() {
+        assertThat(userService.getUserById(userId).orElseThrow().authorities()).containsExactly("ROLE_USER");
+
+        userService.updateUser(userId, new UserAdminRequest(username, null, null, null, null, null,
+                new HashSet<>(Set.of("ROLE_ADMIN"))));
+        assertThat(userService.getUserById(userId).orElseThrow().authorities()).containsExactly("ROLE_ADMIN");
+
+        // Deleting leaves a soft lock in the region rather than no entry, so check through a load.
+        userService.deleteUser(userId);
+        assertThat(userService.getUserById(userId)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepUsersCachedAcrossMembershipWrites() {
+        Event event = new Event();
+        event.setTitle("Cached " + username);
+        event.setDate(OffsetDateTime.now().plusDays(4));
+        UUID eventId = eventRepository.save(event).getId();
+        userRepository.findById(userId).orElseThrow();
+
+        eventService.addMember(eventId, userId);
+
+        assertThat(cache.contains(User.class, userId)).isTrue();
+    }
+
+    @Test
+    void shouldKeepOtherUsersCachedAcrossLogins() throws Exception {
+        setupMockMvc();
+        String loginName = "cached_login_" + UUID.randomUUID();
+        UUID loginId = createAndSaveUser(loginName, "{noop}password", "ROLE_USER").getId();
+        userRepository.findById(userId).orElseThrow();
+        userRepository.findById(loginId).orElseThrow();
+
+        login(loginName, "wrong-password").andExpect(status().isUnauthorized());
+        assertThat(cache.contains(User.class, userId)).isTrue();
+        assertThat(userRepository.findById(loginId).orElseThrow().getFailedLoginAttempts()).isEqualTo(1);
+
+        login(loginName, "password").andExpect(status().isOk());
+        assertThat(cache.contains(User.class, userId)).isTrue();
+        User loggedIn = userRepository.findById(loginId).orElseThrow();
+        assertThat(loggedIn.getFailedLoginAttempts()).isZero();
+        assertThat(loggedIn.getLastLogin()).isNotNull();
+    }
+
+    @Test
+    void shouldEvictUsersChangedOnOtherNodes() {
+        userRepository.findById(userId).orElseThrow();
+
+        entityCacheEviction.onClusterChanges(new ClusterChanges(List.of(EntityChange.user(userId)), false));
+
+        assertThat(cache.contains(User.class, userId)).isFalse();
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AuthController.LoginRequest(username, password))));
+    }
+
+    private double gets(String region, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", region, "result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(QueryCountConfiguration.class)
+class EventDetailQueryCountTest extends BaseWebTest {
+
+    // The version lookup for conditional requests, one join for event, address, tasks and assignees,
+    // then one batch each for organizers and members.
+    private static final long DETAIL_STATEMENTS = 4;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String suffix;
+    private List<User> users;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            users.add(createAndSaveUser("detail_" + i + "_" + suffix, "password", "ROLE_USER"));
+        }
+    }
+
+    @Test
+    void shouldLoadLargeEventDetailInFixedStatementCount() throws Exception {
+        UUID small = saveEventWithTasks("Small " + suffix, 1, 1, 1);
+        UUID large = saveEventWithTasks("Large " + suffix, 10, 20, 60);
+
+        long smallCount = countStatements(small, 1, 1, 1);
+        long largeCount = countStatements(large, 10, 20, 60);
+
+        assertThat(largeCount).isEqualTo(smallCount).isLessThanOrEqualTo(DETAIL_STATEMENTS);
+    }
+
+    private long countStatements(UUID eventId, int organizers, int members, int tasks) throws Exception {
+        QueryCountConfiguration.clear();
+        mockMvc.perform(get("/api/events/" + eventId).with(user("detail_admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.organizers", hasSize(organizers)))
+                .andExpect(jsonPath("$.members", hasSize(members)))
+                .andExpect(jsonPath("$.tasks", hasSize(tasks)))
+                .andExpect(jsonPath("$.address.city").value("Malmö"));
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+
+    private UUID saveEventWithTasks(String title, int organizers, int members, int tasks) {
+        Event event = createAndSaveEvent(title, OffsetDateTime.now().plusMonths(1), details -> {
+            details.setAddress(createAddress("Malmö"));
+            details.getOrganizers().addAll(users.subList(0, organizers));
+            details.getMembers().addAll(users.subList(users.size() - members, users.size()));
+        });
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task();
+            task.setDescription("Task " + i);
+            task.setEvent(event);
+            task.setAssignedTo(users.get(i % users.size()));
+            taskRepository.save(task);
+        }
+        return event.getId();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(QueryCountConfiguration.class)
+class EventListQueryCountTest extends BaseWebTest {
+
+    private static final Pattern PRINCIPAL_LOOKUP = Pattern.compile("\\.username\\s*=\\s*\\?");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String suffix;
+    private OffsetDateTime base;
+    private User member;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        base = OffsetDateTime.of(2400, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        // A fresh member only sees this test's events, whatever else shares the window.
+        member = createAndSaveUser("counter_" + suffix, "password", "ROLE_USER");
+    }
+
+    @Test
+    void shouldListEventsWithConstantStatementCount() throws Exception {
+        saveEventWithTasks(0, 1);
+        // The first request loads the caller into the principal cache.
+        countStatements(1);
+        long oneEvent = countStatements(1);
+
+        for (int i = 1; i < 10; i++) {
+            saveEventWithTasks(i, 5);
+        }
+        long tenEvents = countStatements(10);
+
+        assertThat(oneEvent).isEqualTo(1);
+        assertThat(tenEvents).isEqualTo(oneEvent);
+    }
+
+    @Test
+    void shouldNotQueryUsersOnceThePrincipalIsCached() throws Exception {
+        saveEventWithTasks(0, 1);
+        countStatements(1);
+
+        countStatements(1);
+        mockMvc.perform(get("/api/tasks").with(user(member.getUsername()).roles("USER")))
+                .andExpect(status().isOk());
+
+        assertThat(QueryCountConfiguration.statements())
+                .isNotEmpty()
+                .noneMatch(sql -> PRINCIPAL_LOOKUP.matcher(sql).find() || sql.contains("authorities"));
+    }
+
+    @Test
+    void shouldAggregateSummaryFieldsInQuery() throws Exception {
+        Event event = saveEventWithTasks(0, 3);
+        Task done = taskRepository.findByEventId(event.getId()).getFirst();
+        done.setCompleted(true);
+        taskRepository.save(done);
+
+        mockMvc.perform(get("/api/events")
+                        .with(user(member.getUsername()).roles("USER"))
+                        .param("from", base.toString())
+                        .param("to", base.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].locationName").value("Göteborg"))
+                .andExpect(jsonPath("$[0].participantCount").value(1))
+                .andExpect(jsonPath("$[0].taskCount").value(3))
+                .andExpect(jsonPath("$[0].hasUnfinishedTasks").value(true));
+    }
+
+    private long countStatements(int expectedEvents) throws Exception {
+        QueryCountConfiguration.clear();
+        mockMvc.perform(get("/api/events")
+                        .with(user(member.getUsername()).roles("USER"))
+                        .param("from", base.toString())
+                        .param("to", base.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedEvents)));
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+
+    private Event saveEventWithTasks(int index, int taskCount) {
+        Event event = createAndSaveEvent("Counted " + index + " " + suffix, base.plusHours(index), details -> {
+            details.setAddress(createAddress("Göteborg"));
+            details.getMembers().add(member);
+        });
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setDescription("Task " + i);
+            task.setEvent(event);
+            taskRepository.save(task);
+        }
+        return event;
+    }
+}
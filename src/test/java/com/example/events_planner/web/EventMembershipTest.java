@@ -0,0 +1,102 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.dto.MembershipBulkRequestDTO;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@WithMockUser(username = "membership_admin", roles = "ADMIN")
+class EventMembershipTest extends BaseWebTest {
+
+    private String suffix;
+    private UUID eventId;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        Event event = new Event();
+        event.setTitle("Membership " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(3));
+        eventId = eventRepository.save(event).getId();
+    }
+
+    @Test
+    void shouldAddAndRemoveMemberIdempotently() throws Exception {
+        User member = createAndSaveUser("member_" + suffix, "password", "ROLE_USER");
+
+        mockMvc.perform(post("/api/events/{id}/members/{userId}", eventId, member.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/events/{id}/members/{userId}", eventId, member.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/events/{id}/members", eventId))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username").value(member.getUsername()));
+
+        mockMvc.perform(delete("/api/events/{id}/members/{userId}", eventId, member.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/events/{id}/members", eventId))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownIds() throws Exception {
+        User organizer = createAndSaveUser("organizer_" + suffix, "password", "ROLE_USER");
+
+        mockMvc.perform(post("/api/events/{id}/organizers/{userId}", eventId, UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/events/{id}/organizers/{userId}", UUID.randomUUID(), organizer.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/events/{id}/organizers/{userId}", UUID.randomUUID(), organizer.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldApplyBulkChanges() throws Exception {
+        User first = createAndSaveUser("bulk_1_" + suffix, "password", "ROLE_USER");
+        User second = createAndSaveUser("bulk_2_" + suffix, "password", "ROLE_USER");
+        User third = createAndSaveUser("bulk_3_" + suffix, "password", "ROLE_USER");
+
+        MembershipBulkRequestDTO add = new MembershipBulkRequestDTO(
+                Set.of(first.getId(), second.getId(), third.getId(), UUID.randomUUID()), null);
+        mockMvc.perform(post("/api/events/{id}/members/bulk", eventId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(add)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(3))
+                .andExpect(jsonPath("$.removed").value(0));
+
+        MembershipBulkRequestDTO change = new MembershipBulkRequestDTO(Set.of(first.getId()), Set.of(second.getId()));
+        mockMvc.perform(post("/api/events/{id}/members/bulk", eventId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(change)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(0))
+                .andExpect(jsonPath("$.removed").value(1));
+
+        mockMvc.perform(get("/api/events/{id}/members", eventId))
+                .andExpect(jsonPath("$[*].username", containsInAnyOrder(first.getUsername(), third.getUsername())));
+
+        mockMvc.perform(post("/api/events/{id}/organizers/bulk", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(add)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.controller.EventController;
+import com.example.events_planner.entity.Address;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Geo;
+import com.example.events_planner.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class EventNearbyTest extends BaseWebTest {
+
+    private static final double LATITUDE = 57.7;
+    private static final double LONGITUDE = 11.97;
+
+    private String suffix;
+    private User member;
+    private OffsetDateTime date;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        // Searches run as a fresh member, so other tests' events at the same spot stay out of the results.
+        member = createAndSaveUser("nearby_member_" + suffix, "password", "ROLE_USER");
+        date = OffsetDateTime.now().plusDays(4);
+    }
+
+    @Test
+    void shouldReturnEventsWithinRadiusNearestFirst() throws Exception {
+        createAndSaveEvent("Far " + suffix, date, event -> placeForMember(event, LATITUDE + 0.05, LONGITUDE));
+        createAndSaveEvent("Near " + suffix, date, event -> placeForMember(event, LATITUDE + 0.01, LONGITUDE));
+        createAndSaveEvent("Outside " + suffix, date, event -> placeForMember(event, LATITUDE + 0.2, LONGITUDE));
+
+        mockMvc.perform(nearby(member, LATITUDE, LONGITUDE).param("radiusKm", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].event.title").value("Near " + suffix))
+                .andExpect(jsonPath("$[0].distanceKm", closeTo(1.11, 0.01)))
+                .andExpect(jsonPath("$[1].event.title").value("Far " + suffix))
+                .andExpect(jsonPath("$[1].distanceKm", closeTo(5.56, 0.01)));
+    }
+
+    @Test
+    void shouldFindEventsAcrossTheAntimeridian() throws Exception {
+        createAndSaveEvent("East " + suffix, date, event -> placeForMember(event, -16.5, -179.99));
+
+        mockMvc.perform(nearby(member, -16.5, 179.99).param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].event.title").value("East " + suffix));
+    }
+
+    @Test
+    void shouldPageByDistanceAndRespectVisibility() throws Exception {
+        createAndSaveEvent("First " + suffix, date, event -> placeForMember(event, LATITUDE + 0.01, LONGITUDE));
+        createAndSaveEvent("Hidden " + suffix, date, event -> event.setAddress(at(LATITUDE + 0.015, LONGITUDE)));
+        createAndSaveEvent("Second " + suffix, date, event -> placeForMember(event, LATITUDE + 0.02, LONGITUDE));
+
+        MvcResult first = mockMvc.perform(nearby(member, LATITUDE, LONGITUDE).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].event.title").value("First " + suffix))
+                .andExpect(header().exists(EventController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(nearby(member, LATITUDE, LONGITUDE).param("limit", "1")
+                        .param("cursor", first.getResponse().getHeader(EventController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].event.title").value("Second " + suffix))
+                .andExpect(header().doesNotExist(EventController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldRejectOutOfRangeRadius() throws Exception {
+        mockMvc.perform(nearby(member, LATITUDE, LONGITUDE).param("radiusKm", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder nearby(User account, double lat, double lon) {
+        String role = account.getAuthorities().iterator().next().substring("ROLE_".length());
+        return get("/api/events/nearby")
+                .with(user(account.getUsername()).roles(role))
+                .param("lat", String.valueOf(lat))
+                .param("lon", String.valueOf(lon));
+    }
+
+    private void placeForMember(Event event, double lat, double lon) {
+        event.setAddress(at(lat, lon));
+        event.getMembers().add(member);
+    }
+
+    private static Address at(double lat, double lon) {
+        Address address = createAddress("Somewhere");
+        address.setGeo(new Geo(lat, lon));
+        return address;
+    }
+}
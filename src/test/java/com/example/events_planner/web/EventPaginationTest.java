@@ -0,0 +1,98 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.controller.EventController;
+import com.example.events_planner.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class EventPaginationTest extends BaseWebTest {
+
+    private String suffix;
+    private OffsetDateTime base;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        base = OffsetDateTime.of(2300, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Pages as a fresh member, so other tests' events in the same window never show up.
+     */
+    @Test
+    void shouldWalkEventsWithCursor() throws Exception {
+        User member = createAndSaveUser("pager_member_" + suffix, "password", "ROLE_USER");
+        for (int i = 0; i < 5; i++) {
+            createAndSaveEvent("Paged " + i + " " + suffix, base.plusHours(i), event -> event.getMembers().add(member));
+        }
+
+        MvcResult first = mockMvc.perform(page(member).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Paged 0 " + suffix))
+                .andExpect(jsonPath("$[1].title").value("Paged 1 " + suffix))
+                .andExpect(header().exists(EventController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        MvcResult second = mockMvc.perform(page(member).param("limit", "2")
+                        .param("cursor", first.getResponse().getHeader(EventController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Paged 2 " + suffix))
+                .andExpect(jsonPath("$[1].title").value("Paged 3 " + suffix))
+                .andReturn();
+
+        mockMvc.perform(page(member).param("limit", "2")
+                        .param("cursor", second.getResponse().getHeader(EventController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Paged 4 " + suffix))
+                .andExpect(header().doesNotExist(EventController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldSortDescendingAndRespectVisibility() throws Exception {
+        User member = createAndSaveUser("pager_member_" + suffix, "password", "ROLE_USER");
+        createAndSaveEvent("Visible early " + suffix, base.plusHours(1), event -> event.getMembers().add(member));
+        createAndSaveEvent("Hidden " + suffix, base.plusHours(2), event -> { });
+        createAndSaveEvent("Visible late " + suffix, base.plusHours(3), event -> event.getMembers().add(member));
+
+        mockMvc.perform(page(member).param("sort", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Visible late " + suffix))
+                .andExpect(jsonPath("$[1].title").value("Visible early " + suffix));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        User admin = createAndSaveUser("pager_admin_" + suffix, "password", "ROLE_ADMIN");
+
+        mockMvc.perform(page(admin).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder page(User account) {
+        String role = account.getAuthorities().iterator().next().substring("ROLE_".length());
+        return get("/api/events")
+                .with(user(account.getUsername()).roles(role))
+                .param("from", base.toString())
+                .param("to", base.plusDays(1).toString());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.controller.EventController;
+import com.example.events_planner.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class EventSearchTest extends BaseWebTest {
+
+    private String suffix;
+    private String term;
+    private OffsetDateTime date;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        term = "kw" + suffix.replace("-", "");
+        date = OffsetDateTime.now().plusDays(7);
+    }
+
+    @Test
+    void shouldRankTitleMatchesFirstAndIncludeAddressMatches() throws Exception {
+        User admin = createAndSaveUser("search_admin_" + suffix, "password", "ROLE_ADMIN");
+        createAndSaveEvent("Described " + suffix, date, event -> event.setDescription("All about " + term));
+        createAndSaveEvent("Titled " + term, date, event -> { });
+        createAndSaveEvent("Located " + suffix, date, event -> event.setAddress(createAddress(term)));
+        createAndSaveEvent("Unrelated " + suffix, date, event -> event.setDescription("Nothing to see"));
+
+        mockMvc.perform(get("/api/events/search").param("q", term).with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].title").value("Titled " + term))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder(
+                        "Titled " + term, "Described " + suffix, "Located " + suffix)));
+    }
+
+    @Test
+    void shouldOnlyReturnVisibleEventsForRegularUsers() throws Exception {
+        User member = createAndSaveUser("search_member_" + suffix, "password", "ROLE_USER");
+        createAndSaveEvent("Mine " + term, date, event -> event.getMembers().add(member));
+        createAndSaveEvent("Theirs " + term, date, event -> { });
+
+        mockMvc.perform(get("/api/events/search").param("q", term).with(user(member.getUsername()).roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Mine " + term));
+    }
+
+    @Test
+    void shouldPageThroughResultsWithCursor() throws Exception {
+        User admin = createAndSaveUser("search_admin_" + suffix, "password", "ROLE_ADMIN");
+        for (int i = 0; i < 3; i++) {
+            createAndSaveEvent("Paged " + i + " " + term, date, event -> { });
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/events/search").param("q", term).param("limit", "2")
+                        .with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists(EventController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/api/events/search").param("q", term).param("limit", "2")
+                        .param("cursor", first.getResponse().getHeader(EventController.NEXT_CURSOR_HEADER))
+                        .with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(EventController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldRejectBlankQuery() throws Exception {
+        mockMvc.perform(get("/api/events/search").param("q", " ").with(user("search_blank").roles("ADMIN")))
+                .andExpect(status().isBadRequest());
+    }
+}
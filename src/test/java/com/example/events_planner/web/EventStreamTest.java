@@ -0,0 +1,121 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.cluster.ClusterChanges;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import com.example.events_planner.service.EventStreamHub;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class EventStreamTest extends BaseWebTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EventStreamHub eventStreamHub;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String suffix;
+    private User member;
+    private UUID eventId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        member = createAndSaveUser("stream_" + suffix, "password", "ROLE_USER");
+        Event event = new Event();
+        event.setTitle("Stream " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(3));
+        event.getMembers().add(member);
+        event = eventRepository.save(event);
+        eventId = event.getId();
+        Task task = new Task();
+        task.setDescription("Stream task " + suffix);
+        task.setEvent(event);
+        task.setAssignedTo(member);
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @Test
+    void shouldPushChangesAfterCommit() throws Exception {
+        int activeBefore = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+        MvcResult stream = mockMvc.perform(get("/api/events/{id}/stream", eventId)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(user(member.getUsername()).roles("USER")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        await().until(() -> response.getContentAsString().contains(":subscribed"));
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        // An idle stream must not pin a pooled connection.
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections())
+                .isLessThanOrEqualTo(activeBefore);
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId).with(user(member.getUsername()).roles("USER")))
+                .andExpect(status().isOk());
+        await().until(() -> response.getContentAsString()
+                .contains("\"eventId\":\"" + eventId + "\",\"type\":\"TASK_TOGGLED\",\"subjectId\":\"" + taskId + "\""));
+
+        User newcomer = createAndSaveUser("stream_new_" + suffix, "password", "ROLE_USER");
+        mockMvc.perform(post("/api/events/{id}/members/{userId}", eventId, newcomer.getId())
+                        .with(user("stream_admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+        await().until(() -> response.getContentAsString().contains("\"type\":\"MEMBERS_CHANGED\""));
+        assertThat(response.getContentAsString()).contains("event:" + EventStreamHub.CHANGE_EVENT_NAME);
+        assertThat(eventStreamHub.subscriberCount(eventId)).isEqualTo(1);
+
+        eventStreamHub.close();
+        await().until(() -> eventStreamHub.subscriberCount(eventId) == 0);
+    }
+
+    @Test
+    void shouldAskClientsToRefetchAfterClusterResync() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/events/{id}/stream", eventId)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(user(member.getUsername()).roles("USER")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        await().until(() -> response.getContentAsString().contains(":subscribed"));
+
+        eventStreamHub.onClusterChanges(ClusterChanges.resyncRequired());
+
+        await().until(() -> eventStreamHub.subscriberCount(eventId) == 0);
+        assertThat(response.getContentAsString()).contains("event:" + EventStreamHub.RESYNC_EVENT_NAME);
+    }
+
+    @Test
+    void shouldRejectStreamForUnknownEvent() throws Exception {
+        mockMvc.perform(get("/api/events/{id}/stream", UUID.randomUUID())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(user(member.getUsername()).roles("USER")))
+                .andExpect(status().isNotFound());
+    }
+}
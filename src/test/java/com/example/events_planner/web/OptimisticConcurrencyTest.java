@@ -0,0 +1,156 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.repository.TaskRepository;
+import com.example.events_planner.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@WithMockUser(username = "concurrency_admin", roles = "ADMIN")
+class OptimisticConcurrencyTest extends BaseWebTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    private String suffix;
+    private UUID eventId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        Event event = new Event();
+        event.setTitle("Concurrency " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(5));
+        event = eventRepository.save(event);
+        eventId = event.getId();
+
+        Task task = new Task();
+        task.setDescription("Concurrency task " + suffix);
+        task.setEvent(event);
+        task.setAssignedTo(createAndSaveUser("concurrency_" + suffix, "password", "ROLE_USER"));
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @Test
+    void shouldNotLoseConcurrentToggles() throws Exception {
+        int toggles = 16;
+        long taskVersion = taskRepository.findVersionById(taskId).orElseThrow().version();
+        long eventVersion = eventRepository.findVersionById(eventId).orElseThrow().version();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < toggles; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return taskService.toggleTaskCompletion(taskId, null);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(task.isCompleted()).isFalse();
+        assertThat(task.getVersion()).isEqualTo(taskVersion + toggles);
+        assertThat(eventRepository.findVersionById(eventId).orElseThrow().version()).isEqualTo(eventVersion + toggles);
+    }
+
+    @Test
+    void shouldToggleInOneStatementAndHonourIfMatch() throws Exception {
+        long version = taskRepository.findVersionById(taskId).orElseThrow().version();
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId).header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId).header(HttpHeaders.IF_MATCH, "\"" + version + "\""))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(1))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.eventId").value(eventId.toString()))
+                .andExpect(jsonPath("$.assignedTo.username").value("concurrency_" + suffix));
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId).header(HttpHeaders.IF_MATCH, "W/\"" + (version + 1) + "\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldSetCompletionIdempotently() throws Exception {
+        long version = taskRepository.findVersionById(taskId).orElseThrow().version();
+
+        mockMvc.perform(put("/api/tasks/{id}/completed", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+                .andExpect(jsonPath("$.completed").value(true));
+
+        mockMvc.perform(put("/api/tasks/{id}/completed", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void shouldRejectUpdatesBasedOnStaleVersions() throws Exception {
+        long taskVersion = taskRepository.findVersionById(taskId).orElseThrow().version();
+        String taskBody = "{\"description\": \"Edited " + suffix + "\", \"eventId\": \"" + eventId + "\"}";
+
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"" + taskVersion + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskBody))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"" + taskVersion + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskBody))
+                .andExpect(status().isPreconditionFailed());
+
+        long eventVersion = eventRepository.findVersionById(eventId).orElseThrow().version();
+        String eventBody = "{\"title\": \"Edited " + suffix + "\", \"date\": \"" + OffsetDateTime.now().plusDays(6) + "\"}";
+        mockMvc.perform(put("/api/events/{id}", eventId)
+                        .header(HttpHeaders.IF_MATCH, "\"" + (eventVersion - 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(eventBody))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/events/{id}", eventId)
+                        .header(HttpHeaders.IF_MATCH, "\"" + eventVersion + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(eventBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Edited " + suffix));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.controller.auth.AuthController;
+import com.example.events_planner.security.BoundedPasswordEncoder;
+import com.example.events_planner.security.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Swaps in a hashing stage with one worker and one queue slot whose hashes block until released, so the
+ * stage can be filled before a request arrives.
+ */
+@SpringBootTest
+class PasswordHashingOverloadTest extends BaseWebTest {
+
+    private static final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private static volatile CountDownLatch release = new CountDownLatch(1);
+
+    @TestBean(methodName = "saturablePasswordEncoder")
+    private PasswordEncoder passwordEncoder;
+
+    static PasswordEncoder saturablePasswordEncoder() {
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        return new BoundedPasswordEncoder(blocking, new PasswordHashingProperties(1, 1), registry);
+    }
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        release = new CountDownLatch(1);
+        await().until(() -> gauge("auth.password.hash.active") == 0 && gauge("auth.password.hash.queue") == 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void loginShouldAnswerServiceUnavailableWhenHashingIsSaturated() throws Exception {
+        String username = "overload_" + UUID.randomUUID();
+        createAndSaveUser(username, "hashed:password", "ROLE_USER");
+        saturate();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthController.LoginRequest(username, "password"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void registrationShouldAnswerServiceUnavailableWhenHashingIsSaturated() throws Exception {
+        String username = "overload_" + UUID.randomUUID().toString().substring(0, 8);
+        saturate();
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new AuthController.RegisterRequest(username, username + "@example.com", "password"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    /**
+     * Occupies the single worker and the single queue slot.
+     */
+    private void saturate() {
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("running"));
+        await().until(() -> gauge("auth.password.hash.active") == 1);
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("queued"));
+        await().until(() -> gauge("auth.password.hash.queue") == 1);
+    }
+
+    private static double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+}
@@ -3,8 +3,8 @@ package com.example.events_planner.web;
 import com.example.events_planner.entity.Event;
 import com.example.events_planner.entity.Task;
 import com.example.events_planner.entity.User;
-import com.example.events_planner.repository.EventRepository;
 import com.example.events_planner.repository.TaskRepository;
+import com.example.events_planner.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,18 +22,22 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 public class PersonalizedDataTest extends BaseWebTest {
 
-    @Autowired
-    private EventRepository eventRepository;
+    // Resolving the current user, then the listing itself; one more means something is loaded per row.
+    private static final long LISTING_STATEMENTS = 2;
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @BeforeEach
     void setup() {
         setupMockMvc();
         taskRepository.deleteAll();
         eventRepository.deleteAll();
         userRepository.deleteAll();
+        principalCache.invalidateAll();
     }
 
     @Test
@@ -57,6 +61,7 @@ public class PersonalizedDataTest extends BaseWebTest {
         mockMvc.perform(get("/api/events")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(LISTING_STATEMENTS))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].title").value("Event 1"));
     }
@@ -80,6 +85,7 @@ public class PersonalizedDataTest extends BaseWebTest {
         mockMvc.perform(get("/api/tasks")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(LISTING_STATEMENTS))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].description").value("Task 1"));
     }
@@ -104,11 +110,13 @@ public class PersonalizedDataTest extends BaseWebTest {
         mockMvc.perform(get("/api/events")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(LISTING_STATEMENTS))
                 .andExpect(jsonPath("$", hasSize(1)));
 
         mockMvc.perform(get("/api/tasks")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(LISTING_STATEMENTS))
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 }
\ No newline at end of file
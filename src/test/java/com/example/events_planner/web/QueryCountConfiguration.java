@@ -0,0 +1,72 @@
+package com.example.events_planner.web;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Routes the application's DataSource through datasource-proxy so tests can count the statements a request issues.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountConfiguration {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final List<CapturedQuery> QUERIES = new CopyOnWriteArrayList<>();
+    // MockMvc runs requests on the test thread; background work such as the cluster bus sender is not recorded.
+    private static volatile Thread recordingThread;
+
+    /**
+     * A statement as executed, with the parameter setter calls needed to replay it.
+     */
+    public record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {}
+
+    /**
+     * Resets both the statement counters and the recorded SQL, and records only the calling thread from now on.
+     */
+    public static void clear() {
+        recordingThread = Thread.currentThread();
+        QueryCountHolder.clear();
+        STATEMENTS.clear();
+        QUERIES.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static List<CapturedQuery> queries() {
+        return List.copyOf(QUERIES);
+    }
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .countQuery()
+                            .afterQuery((execInfo, queries) -> queries.forEach(query -> {
+                                if (Thread.currentThread() != recordingThread) {
+                                    return;
+                                }
+                                STATEMENTS.add(query.getQuery());
+                                List<List<ParameterSetOperation>> parameters = query.getParametersList();
+                                QUERIES.add(new CapturedQuery(query.getQuery(),
+                                        parameters.isEmpty() ? List.of() : List.copyOf(parameters.getFirst())));
+                            }))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.events_planner.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Points a read-only "replica" pool at the test database; replica connections are read-only, so a write routed
+ * there would fail.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replicas[0].url=${spring.datasource.url}",
+        "app.datasource.read-your-writes-window=1m"
+})
+class ReadReplicaRoutingTest extends BaseWebTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String suffix;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromReplica() throws Exception {
+        String reader = "replica_reader_" + suffix;
+        createAndSaveUser(reader, "password", "ROLE_USER");
+        double replicaReads = reads("replica-1", "replica");
+
+        mockMvc.perform(get("/api/events").with(user(reader).roles("USER")))
+                .andExpect(status().isOk());
+
+        assertThat(reads("replica-1", "replica")).isGreaterThan(replicaReads);
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica-1").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    void shouldKeepReadsOnPrimaryAfterOwnWrite() throws Exception {
+        String writer = "replica_writer_" + suffix;
+        String reader = "replica_other_" + suffix;
+        createAndSaveUser(writer, "password", "ROLE_ADMIN");
+        createAndSaveUser(reader, "password", "ROLE_USER");
+
+        mockMvc.perform(post("/api/events")
+                        .with(user(writer).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Replica " + suffix + "\", \"date\": \"" + OffsetDateTime.now().plusDays(2) + "\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        double replicaReads = reads("replica-1", "replica");
+        double stickyReads = reads("primary", "read-your-writes");
+        mockMvc.perform(get("/api/events").with(user(writer).roles("ADMIN")))
+                .andExpect(status().isOk());
+        assertThat(reads("primary", "read-your-writes")).isGreaterThan(stickyReads);
+        assertThat(reads("replica-1", "replica")).isEqualTo(replicaReads);
+
+        mockMvc.perform(get("/api/events").with(user(reader).roles("USER")))
+                .andExpect(status().isOk());
+        assertThat(reads("replica-1", "replica")).isGreaterThan(replicaReads);
+    }
+
+    private double reads(String pool, String reason) {
+        Counter counter = meterRegistry.find("datasource.reads").tags("pool", pool, "reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.Task;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.metrics.ServerTimingFilter;
+import com.example.events_planner.repository.TaskRepository;
+import com.example.events_planner.service.EventStreamHub;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class ServerTimingTest extends BaseWebTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventStreamHub eventStreamHub;
+
+    @Autowired
+    private FilterRegistrationBean<ServerTimingFilter> serverTimingFilter;
+
+    private String suffix;
+    private User member;
+    private UUID eventId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setup() {
+        // Same order as in the servlet container: security first, so the filter can see who is asking.
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class), serverTimingFilter.getFilter())
+                .build();
+        suffix = UUID.randomUUID().toString();
+        member = createAndSaveUser("timing_" + suffix, "password", "ROLE_USER");
+        Event event = new Event();
+        event.setTitle("Timing " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(3));
+        event.getMembers().add(member);
+        event = eventRepository.save(event);
+        eventId = event.getId();
+        Task task = new Task();
+        task.setDescription("Timing task " + suffix);
+        task.setEvent(event);
+        task.setAssignedTo(member);
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @Test
+    void shouldBreakDownRequestTimeForAdmins() throws Exception {
+        mockMvc.perform(get("/api/events/{id}", eventId).with(user("timing_admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Timing " + suffix))
+                .andExpect(jsonPath("$.tasks[0].assignedToUsername").value(member.getUsername()))
+                .andExpect(header().string(ServerTimingFilter.SERVER_TIMING_HEADER, allOf(
+                        containsString("conn;dur="),
+                        matchesPattern(".*db;dur=[0-9.]+;desc=\"[1-9][0-9]* SQL statements\".*"),
+                        containsString("map;dur="),
+                        containsString("ser;dur="),
+                        containsString("total;dur="))));
+
+        Timer sql = meterRegistry.find("http.server.requests.phase")
+                .tags("phase", "sql", "method", "GET", "uri", "/api/events/{id}")
+                .timer();
+        assertThat(sql).isNotNull();
+        assertThat(sql.count()).isPositive();
+    }
+
+    @Test
+    void shouldPassEventStreamsThroughUnbufferedForAdmins() throws Exception {
+        // No Accept header, as sent by clients that only look at the response type.
+        MvcResult stream = mockMvc.perform(get("/api/events/{id}/stream", eventId)
+                        .with(user("timing_admin").roles("ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        await().until(() -> response.getContentAsString().contains(":subscribed"));
+
+        mockMvc.perform(patch("/api/tasks/{id}/toggle", taskId).with(user(member.getUsername()).roles("USER")))
+                .andExpect(status().isOk());
+        await().until(() -> response.getContentAsString().contains("\"type\":\"TASK_TOGGLED\""));
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+
+        eventStreamHub.close();
+    }
+
+    @Test
+    void shouldNotExposeBreakdownToOtherUsers() throws Exception {
+        mockMvc.perform(get("/api/events/{id}", eventId).with(user(member.getUsername()).roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+}
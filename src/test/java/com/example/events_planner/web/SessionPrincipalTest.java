@@ -0,0 +1,96 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.controller.auth.AuthController;
+import com.example.events_planner.dto.UserAdminRequest;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logs in for real, so requests carry the principal stored in the session rather than a mock one.
+ */
+@SpringBootTest
+class SessionPrincipalTest extends BaseWebTest {
+
+    @Autowired
+    private UserService userService;
+
+    private String username;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        username = "session_" + UUID.randomUUID();
+        user = createAndSaveUser(username, "{noop}password", "ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldApplyDemotionToExistingSession() throws Exception {
+        OffsetDateTime date = OffsetDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        String title = "Not a member " + username;
+        createAndSaveEvent(title, date, event -> { });
+        MockHttpSession session = login();
+
+        mockMvc.perform(get("/api/me").session(session))
+                .andExpect(jsonPath("$.roles", contains("ROLE_ADMIN")));
+        mockMvc.perform(events(session, date))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.title == '" + title + "')]", hasSize(1)));
+
+        userService.updateUser(user.getId(), new UserAdminRequest(username, null, null, null, null, null,
+                new HashSet<>(Set.of("ROLE_USER"))));
+
+        mockMvc.perform(get("/api/me").session(session))
+                .andExpect(jsonPath("$.roles", contains("ROLE_USER")));
+        mockMvc.perform(events(session, date))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.title == '" + title + "')]", hasSize(0)));
+    }
+
+    @Test
+    void shouldRejectExistingSessionOfDeletedUser() throws Exception {
+        MockHttpSession session = login();
+        mockMvc.perform(get("/api/tasks").session(session))
+                .andExpect(status().isOk());
+
+        userService.deleteUser(user.getId());
+
+        mockMvc.perform(get("/api/tasks").session(session))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Current user not found"));
+    }
+
+    private MockHttpSession login() throws Exception {
+        return (MockHttpSession) mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthController.LoginRequest(username, "password"))))
+                .andExpect(status().isOk())
+                .andReturn().getRequest().getSession(false);
+    }
+
+    private static MockHttpServletRequestBuilder events(MockHttpSession session, OffsetDateTime date) {
+        return get("/api/events").session(session)
+                .param("from", date.toString())
+                .param("to", date.plusMinutes(1).toString());
+    }
+}
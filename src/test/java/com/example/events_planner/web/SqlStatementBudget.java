@@ -0,0 +1,30 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.metrics.SqlStatementMetricsInterceptor;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc expectations on the number of SQL statements a request issued, as counted by
+ * {@link SqlStatementMetricsInterceptor}. Use it to pin an endpoint's budget so an N+1 regression fails the test:
+ * {@code .andExpect(SqlStatementBudget.atMost(3))}.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(long budget) {
+        return result -> assertThat(statements(result))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    public static long statements(MvcResult result) {
+        Object count = result.getRequest().getAttribute(SqlStatementMetricsInterceptor.STATEMENT_COUNT_ATTRIBUTE);
+        assertThat(count).as("statement count recorded for the request").isInstanceOf(Long.class);
+        return (Long) count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.events_planner.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class SqlStatementMetricsTest extends BaseWebTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String suffix;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void shouldRecordStatementsPerEndpoint() throws Exception {
+        UUID userId = createAndSaveUser("metrics_" + suffix, "password", "ROLE_USER").getId();
+
+        MvcResult result = mockMvc.perform(get("/api/admin/users/{id}", userId).with(user("metrics_admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        DistributionSummary summary = meterRegistry.find("http.server.requests.sql")
+                .tags("method", "GET", "uri", "/api/admin/users/{id}")
+                .summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isPositive();
+        assertThat(summary.max()).isGreaterThanOrEqualTo(SqlStatementBudget.statements(result));
+    }
+}
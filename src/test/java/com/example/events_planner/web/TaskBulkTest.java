@@ -0,0 +1,148 @@
+package com.example.events_planner.web;
+
+import com.example.events_planner.dto.TaskBulkCreateRequestDTO;
+import com.example.events_planner.dto.TaskBulkToggleRequestDTO;
+import com.example.events_planner.dto.TaskBulkUpdateRequestDTO;
+import com.example.events_planner.dto.TaskRequestDTO;
+import com.example.events_planner.entity.Event;
+import com.example.events_planner.entity.User;
+import com.example.events_planner.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(QueryCountConfiguration.class)
+@WithMockUser(username = "bulk_admin", roles = "ADMIN")
+class TaskBulkTest extends BaseWebTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // The shared Jackson 2 mapper has no java.time support; Jackson 3 handles OffsetDateTime out of the box.
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private String suffix;
+    private Event event;
+    private User assignee;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+        event = new Event();
+        event.setTitle("Checklist " + suffix);
+        event.setDate(OffsetDateTime.now().plusDays(30));
+        event = eventRepository.save(event);
+        assignee = createAndSaveUser("bulk_assignee_" + suffix, "password", "ROLE_USER");
+    }
+
+    @Test
+    void shouldCreateTasksWithBatchedInserts() throws Exception {
+        List<String> few = createAndRecord(checklist("few", 3));
+        List<String> many = createAndRecord(checklist("many", 120));
+
+        // Lookups do not grow with the batch, and inserts are sent in JDBC batches of 50.
+        assertThat(withoutInserts(many)).hasSameSizeAs(withoutInserts(few));
+        assertThat(many).filteredOn(TaskBulkTest::isTaskInsert).hasSize(3);
+        assertThat(taskRepository.findByEventId(event.getId())).hasSize(123);
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenAnyDueDateIsAfterEvent() throws Exception {
+        List<TaskRequestDTO> tasks = new ArrayList<>(checklist("valid", 2));
+        tasks.add(new TaskRequestDTO("Too late", null, event.getDate().plusDays(1), event.getId(), null));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(new TaskBulkCreateRequestDTO(tasks))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("tasks[2]")));
+
+        assertThat(taskRepository.findByEventId(event.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateAndToggleTasks() throws Exception {
+        JsonNode created = jsonMapper.readTree(mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(new TaskBulkCreateRequestDTO(checklist("edit", 2)))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        UUID first = UUID.fromString(created.get(0).get("id").asString());
+        UUID second = UUID.fromString(created.get(1).get("id").asString());
+
+        TaskBulkUpdateRequestDTO update = new TaskBulkUpdateRequestDTO(List.of(
+                new TaskBulkUpdateRequestDTO.Item(first, new TaskRequestDTO("Renamed", assignee.getId(), null, null, null)),
+                new TaskBulkUpdateRequestDTO.Item(second, new TaskRequestDTO("Done", null, null, null, true))));
+        mockMvc.perform(put("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description").value("Renamed"))
+                .andExpect(jsonPath("$[0].assignedTo.username").value(assignee.getUsername()))
+                .andExpect(jsonPath("$[0].eventId").value(event.getId().toString()))
+                .andExpect(jsonPath("$[1].completed").value(true));
+
+        mockMvc.perform(patch("/api/tasks/bulk/toggle")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(new TaskBulkToggleRequestDTO(Set.of(first, second)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        assertThat(taskRepository.findById(first).orElseThrow().isCompleted()).isTrue();
+        assertThat(taskRepository.findById(second).orElseThrow().isCompleted()).isFalse();
+
+        mockMvc.perform(patch("/api/tasks/bulk/toggle")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(new TaskBulkToggleRequestDTO(Set.of(first, UUID.randomUUID())))))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<String> createAndRecord(List<TaskRequestDTO> tasks) throws Exception {
+        QueryCountConfiguration.clear();
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(new TaskBulkCreateRequestDTO(tasks))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(tasks.size())));
+        return QueryCountConfiguration.statements();
+    }
+
+    private static List<String> withoutInserts(List<String> statements) {
+        return statements.stream().filter(sql -> !isTaskInsert(sql)).toList();
+    }
+
+    private static boolean isTaskInsert(String sql) {
+        return sql.stripLeading().toLowerCase().startsWith("insert into tasks");
+    }
+
+    private List<TaskRequestDTO> checklist(String prefix, int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new TaskRequestDTO(prefix + " " + i, assignee.getId(),
+                        event.getDate().minusDays(1), event.getId(), null))
+                .toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.events_planner.web;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(QueryCountConfiguration.class)
+class UserListQueryCountTest extends BaseWebTest {
+
+    private String suffix;
+
+    @BeforeEach
+    void setup() {
+        setupMockMvc();
+        suffix = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void shouldNotLoadAuthoritiesPerUser() throws Exception {
+        createAndSaveUser("list_a_" + suffix, "password", "ROLE_USER");
+        long few = countStatements();
+        for (int i = 0; i < 5; i++) {
+            createAndSaveUser("list_" + i + "_" + suffix, "password", "ROLE_USER");
+        }
+
+        assertThat(countStatements()).isLessThanOrEqualTo(few);
+    }
+
+    private long countStatements() throws Exception {
+        QueryCountConfiguration.clear();
+        mockMvc.perform(get("/api/admin/users").with(user("list_admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+}